@@ -0,0 +1,94 @@
+package com.galou.moodtracker;
+
+import android.content.Context;
+
+import com.galou.moodtracker.metrics.MetricsRegistry;
+
+/**
+ * <b>
+ *     Names of the metrics measured by the application
+ * </b>
+ * <p>
+ *     The metrics are kept in the {@link MetricsRegistry} of the {@link MoodTrackerApplication}
+ *     and exported in {@link MoodMetrics#FILE_NAME} when the user leaves the application.
+ *     The durations are in microseconds.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MetricsRegistry
+ */
+public final class MoodMetrics {
+
+    /**
+     * Name of the file of the application in which the metrics are exported
+     */
+    public static final String FILE_NAME = "metrics.txt";
+
+    /**
+     * Number of MoodBanks read from the repository
+     */
+    public static final String BANK_LOADS = "bank.loads";
+    /**
+     * Time between the request of the MoodBank by an activity and its delivery on the UI thread
+     */
+    public static final String BANK_WAIT_MICROS = "bank.waitMicros";
+    /**
+     * Time to read the MoodBank from the repository
+     */
+    public static final String BANK_LOAD_MICROS = "bank.loadMicros";
+    /**
+     * Time to parse the MoodBank saved in JSON by the previous versions
+     */
+    public static final String BANK_PARSE_MICROS = "bank.parseJsonMicros";
+    /**
+     * Number of writes of the temporary mood
+     */
+    public static final String PENDING_WRITES = "pending.writes";
+    /**
+     * Number of temporary moods not written because they did not change
+     */
+    public static final String PENDING_SKIPPED = "pending.skipped";
+    /**
+     * Estimated bytes of the temporary moods written: level and date as two ints, comment in UTF-8.
+     * The size of the row in SQLite and of its journal is not measured
+     */
+    public static final String PENDING_ESTIMATED_BYTES = "pending.estimatedBytes";
+    /**
+     * Time to write the temporary mood
+     */
+    public static final String PENDING_WRITE_MICROS = "pending.writeMicros";
+    /**
+     * Number of times the user left the application before the temporary mood was written
+     */
+    public static final String PENDING_WAIT_TIMEOUTS = "pending.waitTimeouts";
+    /**
+     * Time to bind a mood of the history
+     */
+    public static final String HISTORY_BIND_MICROS = "history.bindMicros";
+    /**
+     * Time to build the pie chart
+     */
+    public static final String PIE_CHART_BUILD_MICROS = "pieChart.buildMicros";
+
+    /**
+     * Constructor, the class only contains constants
+     */
+    private MoodMetrics() {
+    }
+
+    /**
+     * Return the metrics of the application
+     *
+     * @param context
+     *      any context of the application
+     * @return
+     *      the registry shared by the application
+     *
+     * @see MoodTrackerApplication#getMetrics()
+     */
+    public static MetricsRegistry get(Context context) {
+        return ((MoodTrackerApplication) context.getApplicationContext()).getMetrics();
+    }
+}
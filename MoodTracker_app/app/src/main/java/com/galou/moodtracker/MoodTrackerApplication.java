@@ -0,0 +1,135 @@
+package com.galou.moodtracker;
+
+import android.app.Application;
+import android.os.Trace;
+
+import com.galou.moodtracker.metrics.MetricsRegistry;
+import com.galou.moodtracker.models.MoodLevel;
+import com.galou.moodtracker.models.MoodLoader;
+import com.galou.moodtracker.trace.StartupTrace;
+import com.galou.moodtracker.views.MoodResources;
+
+/**
+ * <b>
+ *     Represents the MoodTracker application
+ * </b>
+ * <p>
+ *     Holds the objects shared by all the activities during the life of the process
+ *
+ *     A {@link Application} subclass
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodLoader
+ * @see StartupTrace
+ * @see MetricsRegistry
+ */
+public class MoodTrackerApplication extends Application {
+
+    /**
+     * Loader from which all the activities load the user's moods
+     *
+     * @see MoodTrackerApplication#getMoodLoader()
+     */
+    private MoodLoader moodLoader;
+
+    /**
+     * Trace of the startup, measured from the creation of the application until the first screen is displayed
+     *
+     * @see MoodTrackerApplication#getStartupTrace()
+     * @see com.galou.moodtracker.controllers.activity.MainActivity#onWindowFocusChanged(boolean)
+     */
+    private final StartupTrace startupTrace = new StartupTrace();
+
+    /**
+     * Metrics measured while the application runs, exported when the user leaves it
+     *
+     * @see MoodTrackerApplication#getMetrics()
+     * @see MoodMetrics
+     */
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    /**
+     * Actions executed when the application is created, create the loader
+     * <p>
+     *     The drawables of the levels are given to the models first, they read the moods saved with their drawable.
+     *     The sections of the startup trace are also shown in systrace
+     * </p>
+     *
+     * @see MoodTrackerApplication#moodLoader
+     * @see MoodLevel#setLegacyDrawables(int[])
+     * @see MoodTrackerApplication#startupTrace
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        startupTrace.setListener(new StartupTrace.Listener() {
+            @Override
+            public void onSectionBegin(String name) {
+                Trace.beginSection(name);
+            }
+
+            @Override
+            public void onSectionEnd(String name) {
+                Trace.endSection();
+            }
+        });
+        StartupTrace.Section section = startupTrace.begin("Application.onCreate");
+        try {
+            MoodLevel.setLegacyDrawables(MoodResources.drawables());
+            moodLoader = new MoodLoader(this, startupTrace, metrics);
+        } finally {
+            section.end();
+        }
+    }
+
+    /**
+     * Actions executed when the system asks the application to release memory
+     * <p>
+     *     When the user leaves the application, the metrics are exported on the background thread of the loader,
+     *     after the temporary mood already queued. The UI thread does not wait for them
+     * </p>
+     *
+     * @param level
+     *      level of the memory trim
+     *
+     * @see MoodLoader#exportMetrics()
+     * @see MoodLoader#savePending(com.galou.moodtracker.models.Mood)
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            moodLoader.exportMetrics();
+        }
+    }
+
+    /**
+     * Return the loader shared by the activities
+     * @return
+     *      the loader of the user's moods
+     */
+    public MoodLoader getMoodLoader() {
+        return moodLoader;
+    }
+
+    /**
+     * Return the trace of the startup
+     * @return
+     *      the trace, finished once the first screen is displayed
+     */
+    public StartupTrace getStartupTrace() {
+        return startupTrace;
+    }
+
+    /**
+     * Return the metrics of the application
+     * @return
+     *      the registry of the metrics
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+}
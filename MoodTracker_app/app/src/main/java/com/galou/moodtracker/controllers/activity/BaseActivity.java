@@ -1,11 +1,13 @@
 package com.galou.moodtracker.controllers.activity;
 
-import android.content.Context;
-import android.content.SharedPreferences;
 import android.support.v7.app.AppCompatActivity;
 
+import com.galou.moodtracker.MoodMetrics;
+import com.galou.moodtracker.MoodTrackerApplication;
+import com.galou.moodtracker.metrics.MetricsRegistry;
 import com.galou.moodtracker.models.MoodBank;
-import com.google.gson.Gson;
+import com.galou.moodtracker.models.MoodLoader;
+import com.galou.moodtracker.trace.StartupTrace;
 
 /**
  * <b>
@@ -14,6 +16,9 @@ import com.google.gson.Gson;
  * <p>
  *     Base class used to create the app activities
  *
+ *     The user's moods are loaded by a {@link MoodLoader} out of the UI thread,
+ *     the activities are told when they are ready by {@link BaseActivity#onMoodBankLoaded()}
+ *
  *     A {@link AppCompatActivity} subclass
  *
  * </p>
@@ -25,77 +30,96 @@ import com.google.gson.Gson;
  */
 public abstract class BaseActivity extends AppCompatActivity {
 
-    // FOR DATA
     /**
-     * Shared Preferences in which are stored the user's data
-     *
-     * @see BaseActivity#getSharedPreferences(String, int)
-     * @see MainActivity#saveMoodInPrefs()
+     * Tag used to log the errors of the activities
      */
-    protected SharedPreferences preferences;
+    protected static final String TAG = "MoodTracker";
 
+    // FOR DATA
     /**
-     * MoodBank in which are stored the user's moods
+     * Loader from which are loaded the user's moods, shared by all the activities
      *
-     * @see BaseActivity#getSharedPreferences(String, int)
+     * @see MoodLoader
+     * @see BaseActivity#getMoodLoader()
+     * @see MainActivity#saveTmpMood()
      */
-    protected MoodBank moodBank;
+    protected MoodLoader moodLoader;
 
     /**
-     * Key used to store and retrieve the application sharedPreference
+     * MoodBank in which are stored the user's moods, null until it is loaded
      *
-     * @see BaseActivity#preferences
-     * @see BaseActivity#getMoodBank()
-     * @see MainActivity#saveMoodInPrefs()
+     * @see BaseActivity#moodLoader
+     * @see BaseActivity#onMoodBankLoaded()
      */
-    public static final String SHARED_PREF_KEY = "moodTrackerPrefs";
+    protected MoodBank moodBank;
 
     /**
-     * Key used to store and retrieve the user's MoodBank in the sharedPreference
+     * Get the user's MoodBank from the {@link MoodLoader}
+     * <p>
+     *     The bank is loaded on a background thread, {@link BaseActivity#onMoodBankLoaded()} is called
+     *     on the UI thread when it is ready. The time waited by the activity is measured
+     * </p>
      *
-     * @see BaseActivity#preferences
+     * @see BaseActivity#getMoodLoader()
      * @see BaseActivity#moodBank
-     * @see BaseActivity#getMoodBank()
-     * @see MainActivity#saveMoodInPrefs()
+     * @see MoodLoader#loadMoodBank(MoodLoader.Callback)
+     * @see MoodMetrics#BANK_WAIT_MICROS
      */
-    public static final String PREF_KEY_FEELING_BANK = "moodBank";
+    protected void getMoodBank(){
+        final long start = System.nanoTime();
+        getMoodLoader().loadMoodBank(new MoodLoader.Callback<MoodBank>() {
+            @Override
+            public void onLoaded(MoodBank data) {
+                if (isDestroyed()) {
+                    return;
+                }
+                MoodMetrics.get(BaseActivity.this).histogram(MoodMetrics.BANK_WAIT_MICROS, MetricsRegistry.MICROS_BOUNDS)
+                        .recordMicrosSince(start);
+                moodBank = data;
+                getStartupTrace().mark("BaseActivity.moodBankLoaded");
+                onMoodBankLoaded();
+            }
+        });
+    }
 
     /**
-     * Get the user's MoodBank from the SharedPreferences
+     * Actions executed on the UI thread when the MoodBank is loaded
+     * <p>
+     *     Override by the activities that display the bank
+     * </p>
      *
-     * @see BaseActivity#preferences
+     * @see BaseActivity#getMoodBank()
      * @see BaseActivity#moodBank
      */
-    protected void getMoodBank(){
-        preferences = getSharedPreferences(SHARED_PREF_KEY, Context.MODE_PRIVATE);
-        Gson gson = new Gson();
-        String json = preferences.getString(PREF_KEY_FEELING_BANK, null);
-
-        if(json != null){
-            moodBank = gson.fromJson(json, MoodBank.class);
-        } else {
-            moodBank = new MoodBank();
-        }
-    }
+    protected void onMoodBankLoaded(){}
 
     //----------------------//
     //GETTERS AND SETTERS
     //----------------------//
 
     /**
-     * Public getter to share the moodBank.
-     * <p>
-     *     return the moodBank saved in the SharedPreferences
-     * </p>
+     * Return the loader shared by all the activities
      * @return
-     *      moodBank, list of the user past moods
+     *      the loader from which are loaded the user's moods
      *
-     * @see MoodBank
-     * @see PieChartActivity#getSharedPreferences(String, int)
-     * @see PieChartActivity#moodBank
+     * @see BaseActivity#moodLoader
+     * @see MoodTrackerApplication#getMoodLoader()
+     */
+    protected MoodLoader getMoodLoader(){
+        if (moodLoader == null) {
+            moodLoader = ((MoodTrackerApplication) getApplication()).getMoodLoader();
+        }
+        return moodLoader;
+    }
+
+    /**
+     * Return the trace of the startup of the application
+     * @return
+     *      the trace, which does not record anything once the first screen is displayed
      *
+     * @see MoodTrackerApplication#getStartupTrace()
      */
-    public MoodBank getBank(){
-        return moodBank;
+    protected StartupTrace getStartupTrace(){
+        return ((MoodTrackerApplication) getApplication()).getStartupTrace();
     }
 }
@@ -4,7 +4,9 @@ import android.os.Bundle;
 import android.util.DisplayMetrics;
 
 import com.galou.moodtracker.R;
-import com.galou.moodtracker.models.MoodBank;
+import com.galou.moodtracker.controllers.fragments.HistoryFragment;
+import com.galou.moodtracker.models.MoodHistory;
+import com.galou.moodtracker.models.MoodLoader;
 
 /**
  * <b>
@@ -14,7 +16,7 @@ import com.galou.moodtracker.models.MoodBank;
  *     A {@link BaseActivity} subclass
  *
  *     Launch when the user click on the HistoryButton from the MainActivity.
- *     From this Activity the user can see his last 7 Moods
+ *     From this Activity the user can see his past Moods
  * </p>
  *
  * @author galou
@@ -34,38 +36,93 @@ public class HistoryActivity extends BaseActivity {
      * </p>
      *
      * @see HistoryActivity#computeScreenSize()
-     * @see com.galou.moodtracker.views.MoodViewHolder#setSizeCardViewForMood(int)
+     * @see com.galou.moodtracker.views.MoodViewHolder#setSizeCardViewForMood(com.galou.moodtracker.models.MoodLevel)
      */
     private int screenWidth;
+
+    /**
+     * Moods saved in the {@link com.galou.moodtracker.models.MoodRepository}, read page by page when displayed
+     * <p>
+     *     null until the moods are counted by the loader
+     * </p>
+     *
+     * @see HistoryActivity#openHistory()
+     * @see MoodHistory
+     */
+    private MoodHistory history;
+
     /**
      * Actions executed when the Activity is created
      * <p>
-     *     <li>get the user MoodBank saved in the SharedPreferences</li>
      *     <li>get the size of the screen</li>
      *     <li>set the layout of the activity</li>
+     *     <li>count the moods saved in the repository, on a background thread</li>
      * </p>
      *
      * @param savedInstanceState
      *      saved state of the activity
      *
-     * @see HistoryActivity#getMoodBank()
-     * @see HistoryActivity#moodBank
      * @see HistoryActivity#screenWidth
      * @see HistoryActivity#computeScreenSize()
-     * @see MoodBank
+     * @see HistoryActivity#openHistory()
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        this.getMoodBank();
         this.computeScreenSize();
         setContentView(R.layout.activity_history);
+        this.openHistory();
+    }
+
+    /**
+     * Actions executed when the Activity comes back to the foreground
+     * <p>
+     *     A mood may have been added while the activity was stopped,
+     *     the history is read again and the fragment only updates the rows that changed
+     * </p>
+     *
+     * @see HistoryActivity#openHistory()
+     * @see HistoryFragment#onHistoryLoaded()
+     */
+    @Override
+    protected void onRestart() {
+        super.onRestart();
+        this.openHistory();
     }
 
     //----------------------//
     //SET DATA
     //----------------------//
 
+    /**
+     * Open the history of the moods saved in the repository, only the pages of moods displayed are read
+     * <p>
+     *     The moods are counted by the loader on a background thread,
+     *     the fragment displays the moods when it is ready
+     * </p>
+     *
+     * @see HistoryActivity#history
+     * @see MoodHistory
+     * @see HistoryFragment#onHistoryLoaded()
+     */
+    private void openHistory(){
+        getMoodLoader().loadHistory(getResources().getInteger(R.integer.history_page_size),
+                new MoodLoader.Callback<MoodHistory>() {
+                    @Override
+                    public void onLoaded(MoodHistory data) {
+                        if (isDestroyed()) {
+                            return;
+                        }
+                        history = data;
+                        HistoryFragment fragment = (HistoryFragment) getSupportFragmentManager()
+                                .findFragmentById(R.id.history_activity_fragment);
+                        if (fragment != null) {
+                            fragment.onHistoryLoaded();
+                        }
+                    }
+                });
+    }
+
     /**
      * Get the height and the width of the screen
      *
@@ -89,5 +146,17 @@ public class HistoryActivity extends BaseActivity {
         return screenWidth;
     }
 
+    /**
+     * Public getter to share the moods history.
+     * @return
+     *      moods saved by the user, from the oldest to the newest, null while they are loading
+     *
+     * @see HistoryActivity#openHistory()
+     * @see HistoryActivity#history
+     */
+    public MoodHistory getHistory(){
+        return history;
+    }
+
 
 }
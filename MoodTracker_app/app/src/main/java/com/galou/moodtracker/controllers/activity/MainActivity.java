@@ -2,22 +2,24 @@ package com.galou.moodtracker.controllers.activity;
 
 import android.content.DialogInterface;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.support.v4.view.ViewPager;
 import android.support.v7.app.AlertDialog;
 import android.text.InputType;
-import android.text.format.DateUtils;
+import android.util.Log;
 import android.view.View;
 import android.widget.EditText;
 
+import com.galou.moodtracker.BuildConfig;
 import com.galou.moodtracker.R;
 import com.galou.moodtracker.controllers.adapter.PageAdapter;
+import com.galou.moodtracker.models.EpochDay;
 import com.galou.moodtracker.models.Mood;
+import com.galou.moodtracker.models.MoodLevel;
+import com.galou.moodtracker.models.MoodLoader;
+import com.galou.moodtracker.trace.StartupTrace;
+import com.galou.moodtracker.views.MoodResources;
 import com.galou.moodtracker.views.VerticalViewPager;
-import com.google.gson.Gson;
-
-import java.util.Calendar;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
@@ -46,7 +48,7 @@ public class MainActivity extends BaseActivity{
 
     // views
     /**
-     * {@link VerticalViewPager} used to slide between different fragments
+     * {@link VerticalViewPager} used to slide between the pages of the moods
      * <p>
      *     Use the Butter Knife library to bind the view in the activity
      * </p>
@@ -58,24 +60,16 @@ public class MainActivity extends BaseActivity{
 
     // For data
     /**
-     * Color from the fragment displayed used to create the temporary mood
+     * Level of the page displayed used to create the temporary mood
      *
      * @see MainActivity#moodTemp
      * @see Mood
-     *
+     * @see MoodLevel
      */
-    private int colorFromFragment = 1;
+    private MoodLevel levelFromFragment = MoodLevel.HAPPY;
 
     /**
-     * Id of the drawable from the fragment displayed used to create the temporary mood
-     *
-     * @see MainActivity#moodTemp
-     * @see Mood
-     */
-    private int smileyFromFragment;
-
-    /**
-     * List of color used by the {@link PageAdapter} to give a different color to each fragment
+     * List of color used by the {@link PageAdapter} to give a different color to each page
      *
      * @see PageAdapter
      * @see VerticalViewPager
@@ -96,40 +90,36 @@ public class MainActivity extends BaseActivity{
      * Temporary Mood choose by the user
      * <p>
      *     The mood is stored until the user choose another mood for the day or open the application on another day
-     *     It inherits its property from the fragment displayed (color and drawable), today's date and the user comment
+     *     It inherits its property from the page displayed (level), today's date and the user comment
      * </p>
      *
-     * @see MainActivity#addTmpMoodInBank()
+     * @see com.galou.moodtracker.models.MoodLoader#loadTodayMood(int, MoodLoader.Callback)
      * @see MainActivity#getMoodBank()
      * @see Mood
-     * @see MainActivity#smileyFromFragment
-     * @see MainActivity#colorFromFragment
+     * @see MainActivity#levelFromFragment
      * @see MainActivity#todayDate
      * @see MainActivity#userComment
      */
     private Mood moodTemp;
 
     /**
-     * today's date
+     * today's date in epoch-day
      *
      * @see MainActivity#getTodayDate()
+     * @see EpochDay
      */
-    private Calendar todayDate;
+    private int todayDate;
 
     /**
-     * Id of the mood set from the viewpager ID
-     *
-     */
-    private int idPageMood;
-
-    /**
-     * Key used to store and retrieve the user's temporary Mood in the sharedPreference
+     * True when the temporary Mood has been loaded from the {@link com.galou.moodtracker.models.MoodRepository}
+     * <p>
+     *     Until then the selection displayed is not the user's one and must not be saved
+     * </p>
      *
-     * @see BaseActivity#preferences
      * @see MainActivity#getMoodBank()
-     * @see Mood
+     * @see MainActivity#onStop()
      */
-    public static final String PREF_FEY_FEELING_TMP = "feelingTempKey";
+    private boolean isTmpMoodLoaded;
 
     /**
      * Set the {@link VerticalViewPager} at this position when the activity is created
@@ -137,29 +127,17 @@ public class MainActivity extends BaseActivity{
      * @see MainActivity#configureViewPager()
      * @see VerticalViewPager
      */
-    private int start_view = 3;
-
-    /**
-     * List of drawable used by the {@link PageAdapter} to give a different drawable to each fragment
-     *
-     * @see PageAdapter
-     * @see VerticalViewPager
-     * @see MainActivity#configureViewPager()
-     */
-    private static final int[] MOOD_DRAWABLE = new int[]{
-            R.drawable.smiley_sad,
-            R.drawable.smiley_disappointed,
-            R.drawable.smiley_normal,
-            R.drawable.smiley_happy,
-            R.drawable.smiley_super_happy};
+    private int start_view = MoodLevel.HAPPY.ordinal();
 
     /**
      * Actions executed when the Activity is created
      * <p>
      *     <li>set the layout of the activity</li>
      *     <li>get today's date</li>
-     *     <li>get the user {@link com.galou.moodtracker.models.MoodBank} and temporary mood saved in the SharedPreferences</li>
+     *     <li>get the user {@link com.galou.moodtracker.models.MoodBank} and temporary mood saved in the {@link com.galou.moodtracker.models.MoodRepository}</li>
      *     <li>configure the {@link ViewPager}</li>
+     *
+     *     Each step is measured in a section of the {@link StartupTrace}
      * </p>
      *
      * @param savedInstanceState
@@ -177,30 +155,82 @@ public class MainActivity extends BaseActivity{
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_main);
-        ButterKnife.bind(this);
+        StartupTrace trace = getStartupTrace();
+        StartupTrace.Section section = trace.begin("MainActivity.setContentView");
+        try {
+            setContentView(R.layout.activity_main);
+        } finally {
+            section.end();
+        }
+        section = trace.begin("MainActivity.bind");
+        try {
+            ButterKnife.bind(this);
+        } finally {
+            section.end();
+        }
         this.getTodayDate();
-        this.getMoodBank();
-        this.configureViewPager();
+        section = trace.begin("MainActivity.getMoodBank");
+        try {
+            this.getMoodBank();
+        } finally {
+            section.end();
+        }
+        section = trace.begin("MainActivity.configureViewPager");
+        try {
+            this.configureViewPager();
+        } finally {
+            section.end();
+        }
+    }
+
+    /**
+     * Actions executed when the window of the Activity gains or loses the focus
+     * <p>
+     *     The first time it gains the focus the first screen is displayed: the startup trace is finished,
+     *     and written in the log in the debug builds
+     * </p>
+     *
+     * @param hasFocus
+     *      true if the window has the focus
+     *
+     * @see StartupTrace#finish()
+     * @see StartupTrace#dump()
+     */
+    @Override
+    public void onWindowFocusChanged(boolean hasFocus) {
+        super.onWindowFocusChanged(hasFocus);
+        if (hasFocus && getStartupTrace().finish() && BuildConfig.DEBUG) {
+            Log.d(TAG, getStartupTrace().dump());
+        }
     }
 
     /**
      * Actions executed when the Activity is stopped
      * <p>
      *     <li>create a new moodTemp from the user selection</li>
-     *     <li>save {@link com.galou.moodtracker.models.MoodBank} and moodTemp in the SharedPreferences</li>
+     *     <li>save moodTemp in the {@link com.galou.moodtracker.models.MoodRepository}</li>
+     * </p>
+     * <p>
+     *     Nothing is saved if the temporary mood has not been loaded yet.
+     *     The loader only writes the mood if it changed. The activity waits a bounded time for the write,
+     *     the system can kill the process once it is stopped
      * </p>
      *
      * @see MainActivity#moodTemp
-     * @see BaseActivity#preferences
+     * @see MainActivity#isTmpMoodLoaded
      * @see Mood
-     * @see MainActivity#saveMoodInPrefs()
+     * @see MainActivity#saveTmpMood()
+     * @see MoodLoader#awaitPendingWrite(long)
      */
     @Override
     protected void onStop() {
         super.onStop();
-        moodTemp = new Mood(this.smileyFromFragment, this.colorFromFragment, todayDate, this.userComment, this.idPageMood);
-        this.saveMoodInPrefs();
+        if (!isTmpMoodLoaded) {
+            return;
+        }
+        moodTemp = new Mood(this.levelFromFragment, todayDate, this.userComment);
+        this.saveTmpMood();
+        moodLoader.awaitPendingWrite(MoodLoader.PENDING_WRITE_TIMEOUT_MILLIS);
     }
 
     //----------------------//
@@ -210,29 +240,26 @@ public class MainActivity extends BaseActivity{
     /**
      * Configure the View Pager
      * <p>
-     *     <li>set the adapter with the list of colors and list of drawable</li>
-     *     <li>set listener to the {@link VerticalViewPager} to know when a page is scrolled to get the actual fragment displayed</li>
-     *     <li>get the color and drawable from the fragment displayed to create the temporary mood with those data</li>
+     *     <li>set the adapter with the list of colors and list of drawable of the mood levels</li>
+     *     <li>keep all the pages in the ViewPager, they are not removed and added again when the user swipes</li>
+     *     <li>set listener to the {@link VerticalViewPager} to know when a page is scrolled to get the actual page displayed</li>
+     *     <li>get the level from the page displayed to create the temporary mood with it, the position of a page is the level ordinal</li>
      * </p>
      *
      * @see VerticalViewPager
      * @see PageAdapter
      * @see MainActivity#colorList
-     * @see MainActivity#MOOD_DRAWABLE
-     * @see MainActivity#smileyFromFragment
-     * @see MainActivity#colorFromFragment
+     * @see MainActivity#levelFromFragment
+     * @see MoodLevel
      */
     private void configureViewPager(){
-        this.colorList = getResources().getIntArray(R.array.colorPagesViewPager);
-        viewPager.setAdapter(new PageAdapter(getSupportFragmentManager(),
-                this.colorList, MOOD_DRAWABLE) {
-        });
+        this.colorList = MoodResources.resolveColors(getResources());
+        viewPager.setAdapter(new PageAdapter(this, this.colorList, MoodResources.drawables()));
+        viewPager.setOffscreenPageLimit(MoodLevel.COUNT - 1); // the five pages stay in the ViewPager
         viewPager.setCurrentItem(start_view); //display to mood happy when open
 
         // get data from viewpager when open
-        smileyFromFragment = MOOD_DRAWABLE[viewPager.getCurrentItem()];
-        colorFromFragment = colorList[viewPager.getCurrentItem()];
-        idPageMood = viewPager.getCurrentItem();
+        levelFromFragment = MoodLevel.fromOrdinal(viewPager.getCurrentItem());
 
         // set listener to what view is active
         viewPager.addOnPageChangeListener(new ViewPager.OnPageChangeListener() {
@@ -243,9 +270,7 @@ public class MainActivity extends BaseActivity{
 
             @Override
             public void onPageSelected(int position) {
-                smileyFromFragment = MOOD_DRAWABLE[position];
-                colorFromFragment = colorList[position];
-                idPageMood = position;
+                levelFromFragment = MoodLevel.fromOrdinal(position);
 
             }
 
@@ -257,13 +282,13 @@ public class MainActivity extends BaseActivity{
     }
 
     /**
-     * Get today's date from Calendar Library
+     * Get today's date in epoch-day
      *
-     * @see Calendar
+     * @see EpochDay
      * @see MainActivity#todayDate
      */
     private void getTodayDate(){
-        todayDate = Calendar.getInstance();//get today's date
+        todayDate = EpochDay.today();//get today's date
     }
 
     //----------------------//
@@ -271,80 +296,73 @@ public class MainActivity extends BaseActivity{
     //----------------------//
 
     /**
-     * Save MoodBank and temporary Mood in the SharedPreferences
+     * Save the temporary Mood in the {@link com.galou.moodtracker.models.MoodRepository}
+     * <p>
+     *     Only the temporary Mood is rewritten, it is added to the other moods of the repository on the next day.
+     *     The mood is written behind on the background thread of the loader, only if it changed
+     * </p>
      *
-     * @see BaseActivity#preferences
-     * @see BaseActivity#moodBank
+     * @see BaseActivity#moodLoader
      * @see MainActivity#moodTemp
      * @see Mood
-     * @see com.galou.moodtracker.models.MoodBank
      */
-    private void saveMoodInPrefs(){
-        SharedPreferences.Editor prefEditor = preferences.edit();
-        Gson gson = new Gson();
-        String jsonFeelingBank = gson.toJson(moodBank);
-        prefEditor.putString(PREF_KEY_FEELING_BANK, jsonFeelingBank);
-        String jsonFeelingTmp = gson.toJson(moodTemp);
-        prefEditor.putString(PREF_FEY_FEELING_TMP, jsonFeelingTmp);
-        prefEditor.apply();
-
+    private void saveTmpMood(){
+        moodLoader.savePending(moodTemp);
     }
 
     /**
-     * Get MoodBank from SharedPreferences
+     * Get MoodBank from the {@link com.galou.moodtracker.models.MoodRepository}
      * <p>
-     *     Override method from BaseActivity to get the temporary Mood from the preferences as well.
-     *     Add the temporary Mood to the bank
+     *     Override method from BaseActivity to get the temporary Mood from the repository as well.
+     *     The temporary Mood of a previous day is added to the repository by the loader before the bank is loaded
      * </p>
      *
      * @see BaseActivity#getMoodBank()
-     * @see BaseActivity#preferences
+     * @see BaseActivity#moodLoader
      * @see MainActivity#moodTemp
-     * @see Mood
-     * @see MainActivity#addTmpMoodInBank()
+     * @see MainActivity#onTmpMoodLoaded(Mood)
+     * @see com.galou.moodtracker.models.MoodLoader#loadTodayMood(int, MoodLoader.Callback)
      */
     @Override
     protected void getMoodBank() {
+        getMoodLoader().loadTodayMood(todayDate, new MoodLoader.Callback<Mood>() {
+            @Override
+            public void onLoaded(Mood data) {
+                onTmpMoodLoaded(data);
+            }
+        });
         super.getMoodBank();
-        Gson gson = new Gson();
-        String jsonFeelingTmp = preferences.getString(PREF_FEY_FEELING_TMP, null);
-
-
-        if(jsonFeelingTmp != null){
-            moodTemp = gson.fromJson(jsonFeelingTmp, Mood.class);
-            this.addTmpMoodInBank();
-        }
-
-        if(jsonFeelingTmp != null && isMoodToday()){
-            start_view = moodTemp.getId();
-            userComment = moodTemp.getComment();
-        } else {
-            start_view = 3;
-            userComment = "";
-        }
     }
 
     /**
-     * Add temporary mood to the user's MoodBank
+     * Display the temporary Mood of today
      * <p>
-     *     If the temporary mood date is different than today's date, the mood is added to the bank
-     *     and the sharedPreferences are updated
+     *     If the user already chose a mood today the ViewPager is moved to its level
+     *     and its comment is shown in the comment dialog
      * </p>
      *
+     * @param mood
+     *      temporary Mood of today, null if the user did not choose a mood today
+     *
      * @see MainActivity#moodTemp
-     * @see BaseActivity#moodBank
-     * @see MainActivity#todayDate
-     * @see Mood
-     * @see com.galou.moodtracker.models.MoodBank
-     * @see MainActivity#saveMoodInPrefs()
+     * @see MainActivity#start_view
+     * @see MainActivity#userComment
      */
-    private void addTmpMoodInBank(){
-        if (!isMoodToday()){
-            moodBank.addMood(moodTemp);
-            this.saveMoodInPrefs();
-
+    private void onTmpMoodLoaded(Mood mood){
+        getStartupTrace().mark("MainActivity.todayMoodLoaded");
+        moodTemp = mood;
+        if(moodTemp != null && isMoodToday()){
+            start_view = moodTemp.getLevel().ordinal();
+            userComment = moodTemp.getComment();
+        } else {
+            start_view = MoodLevel.HAPPY.ordinal();
+            userComment = "";
+        }
+        isTmpMoodLoaded = true;
+        if (viewPager != null) {
+            viewPager.setCurrentItem(start_view);
+            levelFromFragment = MoodLevel.fromOrdinal(start_view);
         }
-
     }
 
     /**
@@ -353,7 +371,7 @@ public class MainActivity extends BaseActivity{
      *      boolean
      */
     private boolean isMoodToday(){
-        return (DateUtils.isToday(moodTemp.getDate().getTime().getTime()));
+        return moodTemp.getEpochDay() == todayDate;
 
     }
 
@@ -1,9 +1,27 @@
 package com.galou.moodtracker.controllers.activity;
 
+import android.app.DatePickerDialog;
 import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.DatePicker;
 
 import com.galou.moodtracker.R;
-import com.galou.moodtracker.models.MoodBank;
+import com.galou.moodtracker.controllers.fragments.PieChartFragment;
+import com.galou.moodtracker.models.EpochDay;
+import com.galou.moodtracker.models.Mood;
+import com.galou.moodtracker.models.MoodLevel;
+import com.galou.moodtracker.models.MoodLoader;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import butterknife.BindView;
+import butterknife.ButterKnife;
+import butterknife.OnClick;
 
 /**
  * <b>
@@ -13,40 +31,315 @@ import com.galou.moodtracker.models.MoodBank;
  *     A {@link BaseActivity} subclass
  *
  *     Launch when the user click on the PieChart button from the MainActivity.
- *     From this Activity the user can see his moods in a pie chart
+ *     From this Activity the user can see his moods in a pie chart, between two dates he selects.
+ *     The moods of the range are counted in the repository by the {@link MoodLoader}, whatever their number
  * </p>
  *
  * @author galou
  * @version 1.0
  *
  * @see BaseActivity
- * @see com.galou.moodtracker.models.MoodBank
+ * @see MoodLoader#loadCounts(int, int, MoodLoader.Callback)
+ * @see PieChartFragment
  */
 public class PieChartActivity extends BaseActivity {
 
+    /**
+     * Button that displays and selects the first day of the range
+     *
+     * @see PieChartActivity#onClickFromButton(View)
+     */
+    @BindView(R.id.pie_chart_activity_from_button) Button fromButton;
+    /**
+     * Button that displays and selects the last day of the range
+     *
+     * @see PieChartActivity#onClickToButton(View)
+     */
+    @BindView(R.id.pie_chart_activity_to_button) Button toButton;
+
+    // FOR DATA
+    /**
+     * First day of the range displayed in the pie chart, in epoch-day
+     * <p>
+     *     By default the day of the first mood of the user
+     * </p>
+     *
+     * @see EpochDay
+     */
+    private int fromDay;
+    /**
+     * Last day of the range displayed in the pie chart, in epoch-day
+     * <p>
+     *     By default today
+     * </p>
+     *
+     * @see EpochDay
+     */
+    private int toDay;
+    /**
+     * Number of moods of each level in the range, indexed by {@link MoodLevel#ordinal()}, null until they are counted
+     *
+     * @see PieChartActivity#loadCounts()
+     */
+    private int[] counts;
+    /**
+     * True if the user saved at least one mood
+     *
+     * @see PieChartActivity#loadFirstDay()
+     */
+    private boolean hasMoods;
 
     /**
      * Actions executed when the Activity is created
      * <p>
-     *     <li>get the user MoodBank saved in the SharedPreferences</li>
      *     <li>set the layout of the activity</li>
+     *     <li>Bind views with ButterKnife</li>
+     *     <li>get the day of the first mood of the user, on a background thread</li>
      * </p>
      *
      * @param savedInstanceState
      *      saved state of the activity
      *
-     * @see PieChartActivity#getMoodBank()
-     * @see PieChartActivity#moodBank
-     * @see MoodBank
+     * @see PieChartActivity#loadFirstDay()
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        this.getMoodBank();
         setContentView(R.layout.activity_pie_chart);
+        ButterKnife.bind(this);
+        this.fromButton.setEnabled(false);
+        this.toButton.setEnabled(false);
+        this.loadFirstDay();
+
+    }
+
+    /**
+     * Read the first mood of the history, to set the default range
+     * <p>
+     *     Once it is read:
+     *     <li>set the default range, from the first mood to today</li>
+     *     <li>let the user select another range</li>
+     *     <li>count the moods of the range</li>
+     * </p>
+     *
+     * @see MoodLoader#loadPage(int, int, MoodLoader.Callback)
+     * @see PieChartActivity#updateRange()
+     */
+    private void loadFirstDay() {
+        getMoodLoader().loadPage(0, 1, new MoodLoader.Callback<List<Mood>>() {
+            @Override
+            public void onLoaded(List<Mood> data) {
+                if (isDestroyed()) {
+                    return;
+                }
+                hasMoods = data != null && !data.isEmpty();
+                toDay = EpochDay.today();
+                fromDay = hasMoods ? Math.min(data.get(0).getEpochDay(), toDay) : toDay;
+                fromButton.setEnabled(true);
+                toButton.setEnabled(true);
+                updateRange();
+            }
+        });
+    }
+
+    /**
+     * Count the moods of each level in the range, then display them in the pie chart
+     * <p>
+     *     The counts are delivered in the order of the requests, the last range selected is displayed last
+     * </p>
+     *
+     * @see MoodLoader#loadCounts(int, int, MoodLoader.Callback)
+     * @see PieChartFragment#onCountsLoaded()
+     */
+    private void loadCounts() {
+        getMoodLoader().loadCounts(fromDay, toDay, new MoodLoader.Callback<int[]>() {
+            @Override
+            public void onLoaded(int[] data) {
+                if (isDestroyed() || data == null) {
+                    return;
+                }
+                counts = data;
+                PieChartFragment fragment = getPieChartFragment();
+                if (fragment != null) {
+                    fragment.onCountsLoaded();
+                }
+            }
+        });
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the first day of the range to display
+     *
+     * @return
+     *      first day in epoch-day
+     */
+    public int getFromDay() {
+        return fromDay;
+    }
+
+    /**
+     * Return the last day of the range to display
+     *
+     * @return
+     *      last day in epoch-day
+     */
+    public int getToDay() {
+        return toDay;
+    }
 
+    /**
+     * Return the number of moods of a level in the range
+     *
+     * @param level
+     *      level of the moods
+     * @return
+     *      number of moods between the first and the last day of the range
+     */
+    public int getCount(MoodLevel level) {
+        return counts != null ? counts[level.ordinal()] : 0;
+    }
+
+    /**
+     * Return true if the moods of the range are counted
+     *
+     * @return
+     *      true once the counts of a range have been loaded
+     */
+    public boolean isCounted() {
+        return counts != null;
+    }
+
+    /**
+     * Return true if the user saved at least one mood
+     *
+     * @return
+     *      true if the history is not empty
+     */
+    public boolean hasMoods() {
+        return hasMoods;
+    }
+
+    //----------------------//
+    //ACTION USER
+    //----------------------//
+
+    /**
+     * Actions executed when the user click on the first day of the range
+     * <p>
+     *     A Date Picker Dialog is started, if the day selected is after the last day both days are the same
+     * </p>
+     * @param view
+     *      View on which the user has clicked
+     *
+     * @see PieChartActivity#fromDay
+     */
+    @OnClick(R.id.pie_chart_activity_from_button)
+    public void onClickFromButton(View view) {
+        this.showDatePicker(fromDay, new DatePickerDialog.OnDateSetListener() {
+            @Override
+            public void onDateSet(DatePicker picker, int year, int month, int dayOfMonth) {
+                fromDay = toEpochDay(year, month, dayOfMonth);
+                toDay = Math.max(toDay, fromDay);
+                updateRange();
+            }
+        });
+    }
+
+    /**
+     * Actions executed when the user click on the last day of the range
+     * <p>
+     *     A Date Picker Dialog is started, if the day selected is before the first day both days are the same
+     * </p>
+     * @param view
+     *      View on which the user has clicked
+     *
+     * @see PieChartActivity#toDay
+     */
+    @OnClick(R.id.pie_chart_activity_to_button)
+    public void onClickToButton(View view) {
+        this.showDatePicker(toDay, new DatePickerDialog.OnDateSetListener() {
+            @Override
+            public void onDateSet(DatePicker picker, int year, int month, int dayOfMonth) {
+                toDay = toEpochDay(year, month, dayOfMonth);
+                fromDay = Math.min(fromDay, toDay);
+                updateRange();
+            }
+        });
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Show a Date Picker Dialog on a day
+     *
+     * @param epochDay
+     *      day selected when the dialog opens
+     * @param listener
+     *      listener called when the user selects a day
+     */
+    private void showDatePicker(int epochDay, DatePickerDialog.OnDateSetListener listener) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(EpochDay.toMillis(epochDay));
+        new DatePickerDialog(this, listener, calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH)).show();
+    }
+
+    /**
+     * Update the buttons and count the moods after the range changed
+     *
+     * @see PieChartActivity#loadCounts()
+     */
+    private void updateRange() {
+        this.updateRangeButtons();
+        this.loadCounts();
     }
 
+    /**
+     * Return the fragment that displays the pie chart
+     *
+     * @return
+     *      the PieChartFragment of the layout
+     */
+    private PieChartFragment getPieChartFragment() {
+        return (PieChartFragment) getSupportFragmentManager()
+                .findFragmentById(R.id.pie_chart_activity_fragment);
+    }
 
+    /**
+     * Display the range in the buttons
+     *
+     * @see PieChartActivity#fromButton
+     * @see PieChartActivity#toButton
+     */
+    private void updateRangeButtons() {
+        SimpleDateFormat format = new SimpleDateFormat(getString(R.string.format_diplsay_date), Locale.getDefault());
+        fromButton.setText(getString(R.string.range_from_button, format.format(new Date(EpochDay.toMillis(fromDay)))));
+        toButton.setText(getString(R.string.range_to_button, format.format(new Date(EpochDay.toMillis(toDay)))));
+    }
+
+    /**
+     * Convert a date selected in a Date Picker to epoch-day
+     *
+     * @param year
+     *      year selected
+     * @param month
+     *      month selected, from 0
+     * @param dayOfMonth
+     *      day selected
+     * @return
+     *      the date in epoch-day
+     */
+    private static int toEpochDay(int year, int month, int dayOfMonth) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth);
+        return EpochDay.fromCalendar(calendar);
+    }
 
 }
@@ -1,10 +1,16 @@
 package com.galou.moodtracker.controllers.adapter;
 
-import android.support.v4.app.Fragment;
-import android.support.v4.app.FragmentManager;
-import android.support.v4.app.FragmentStatePagerAdapter;
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.view.PagerAdapter;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
 
-import com.galou.moodtracker.controllers.fragments.PageFragment;
+import com.galou.moodtracker.R;
 
 /**
  * <b>
@@ -12,64 +18,112 @@ import com.galou.moodtracker.controllers.fragments.PageFragment;
  * </b>
  *
  * <p>
- *     Bind the instance of {@link PageFragment} with the {@link com.galou.moodtracker.views.VerticalViewPager}
+ *     Bind the pages of the moods with the {@link com.galou.moodtracker.views.VerticalViewPager}
  *
- *     A {@link FragmentStatePagerAdapter} subclass
+ *     There is one page by mood level. Each page is inflated the first time it is displayed, then kept and reused
+ *     when the ViewPager displays it again: swiping between the moods does not create any view nor any fragment.
+ *     The smileys are loaded once, when the adapter is created, and each one stays in its page.
+ *
+ *     A {@link PagerAdapter} subclass
  * </p>
  *
  * @see com.galou.moodtracker.views.VerticalViewPager
- * @see PageFragment
  */
-public class PageAdapter extends FragmentStatePagerAdapter {
+public class PageAdapter extends PagerAdapter {
+    /**
+     * List of color used to give a different color to each page
+     *
+     * @see PageAdapter#PageAdapter(Context, int[], int[])
+     */
+    private final int[] colors;
     /**
-     * List of color used to give a different color to each fragment
+     * Smileys of the pages, loaded once
      *
-     * @see PageAdapter#PageAdapter(FragmentManager, int[], int[])
+     * @see PageAdapter#PageAdapter(Context, int[], int[])
      */
-    private int[] colors;
+    private final Drawable[] smileys;
     /**
-     * List of smiley to give a different drawable to each fragment
+     * Pages already inflated, indexed by their position, reused when they are displayed again
      *
-     * @see PageAdapter#PageAdapter(FragmentManager, int[], int[])
+     * @see PageAdapter#instantiateItem(ViewGroup, int)
      */
-    private int[] smiley;
+    private final View[] pages;
 
     /**
      * Constructor, create a new adapter with a list of color and a list of smiley
      *
-     * @param mgr
-     *      fragment manager
+     * @param context
+     *      context used to load the smileys
      * @param colors
-     *      list of color used to create the fragments
+     *      list of color of the pages
      * @param smiley
-     *      list of smiley used to create the fragments
+     *      list of smiley of the pages
      *
-     * @see PageAdapter#smiley
+     * @see PageAdapter#smileys
      * @see PageAdapter#colors
      */
-    public PageAdapter(FragmentManager mgr, int[] colors, int[] smiley){
-        super(mgr);
+    public PageAdapter(Context context, int[] colors, int[] smiley){
         this.colors = colors;
-        this.smiley = smiley;
+        this.smileys = new Drawable[smiley.length];
+        for (int i = 0; i < smiley.length; i++) {
+            this.smileys[i] = ContextCompat.getDrawable(context, smiley[i]);
+        }
+        this.pages = new View[colors.length];
     }
 
     /**
-     * Create new Instance of {@link PageFragment} every time the method is called
-     *
-     * <p>
-     *     Override method getItem()
-     * </p>
+     * Add the page of a position to the ViewPager, inflated the first time
      *
+     * @param container
+     *      the ViewPager
      * @param position
-     *      position of th ViewPager
+     *      position of the page
      * @return
-     *      new instance of the fragment created
+     *      the view of the page
      *
-     * @see PageFragment#newInstance(int, int)
+     * @see PageAdapter#pages
+     * @see PageAdapter#createPage(ViewGroup, int)
+     */
+    @NonNull
+    @Override
+    public Object instantiateItem(@NonNull ViewGroup container, int position) {
+        View page = this.pages[position];
+        if (page == null) {
+            page = this.createPage(container, position);
+            this.pages[position] = page;
+        }
+        container.addView(page);
+        return page;
+    }
+
+    /**
+     * Remove a page from the ViewPager, the page is kept to be displayed again
+     *
+     * @param container
+     *      the ViewPager
+     * @param position
+     *      position of the page
+     * @param object
+     *      the view of the page
      */
     @Override
-    public Fragment getItem(int position) {
-        return(PageFragment.newInstance(this.colors[position], this.smiley[position]));
+    public void destroyItem(@NonNull ViewGroup container, int position, @NonNull Object object) {
+        container.removeView((View) object);
+    }
+
+    /**
+     * Return true if a view is the page returned by {@link PageAdapter#instantiateItem(ViewGroup, int)}
+     *
+     * @param view
+     *      view of the ViewPager
+     * @param object
+     *      page returned by instantiateItem
+     * @return
+     *      true if the view is the page
+     */
+    @Override
+    public boolean isViewFromObject(@NonNull View view, @NonNull Object object) {
+        return view == object;
     }
 
     /**
@@ -87,5 +141,25 @@ public class PageAdapter extends FragmentStatePagerAdapter {
         return(this.colors.length);
     }
 
+    //----------------------//
+    //UTILS
+    //----------------------//
 
+    /**
+     * Inflate the page of a position, with its background color and its smiley
+     *
+     * @param container
+     *      the ViewPager
+     * @param position
+     *      position of the page
+     * @return
+     *      the view of the page
+     */
+    private View createPage(ViewGroup container, int position) {
+        View page = LayoutInflater.from(container.getContext()).inflate(R.layout.page_mood, container, false);
+        page.setBackgroundColor(this.colors[position]);
+        ImageView smileyImage = page.findViewById(R.id.pageMood_smiley);
+        smileyImage.setImageDrawable(this.smileys[position]);
+        return page;
+    }
 }
@@ -0,0 +1,494 @@
+package com.galou.moodtracker.controllers.adapter;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.util.ListUpdateCallback;
+import android.support.v7.widget.RecyclerView;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.galou.moodtracker.MoodMetrics;
+import com.galou.moodtracker.MoodTrackerApplication;
+import com.galou.moodtracker.R;
+import com.galou.moodtracker.metrics.Histogram;
+import com.galou.moodtracker.metrics.MetricsRegistry;
+import com.galou.moodtracker.models.Mood;
+import com.galou.moodtracker.models.MoodDateLabels;
+import com.galou.moodtracker.models.MoodHistory;
+import com.galou.moodtracker.models.MoodLoader;
+import com.galou.moodtracker.views.MoodResources;
+import com.galou.moodtracker.views.MoodViewHolder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>
+ *     Represent a Mood Adapter reading the moods page by page
+ * </b>
+ * <p>
+ *     Bind the RecyclerView from History Fragment with the MoodViewHolder,
+ *     the moods are read from the repository when they are about to be displayed.
+ *
+ *     A mood whose page is not read yet is displayed as a placeholder,
+ *     it is bound again when its page arrives.
+ *     Only a few pages are kept in memory, whatever the size of the history.
+ *
+ *     A new snapshot of the history only updates the rows that changed since the previous one:
+ *     each page of the new snapshot is compared with the same page of the previous one when it is read,
+ *     the moods being identified by their day, see {@link PagedMoodAdapter#onMoodsLoaded(int, int)}.
+ *     The pages are compared on the background thread of the {@link MoodLoader}, the UI thread only applies the result.
+ *
+ *     A RecyclerView.Adapter<MoodViewHolder> subclass
+ *     Implements the interface Listener from MoodHistory to know when moods are read
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodHistory
+ * @see MoodViewHolder
+ * @see com.galou.moodtracker.controllers.fragments.HistoryFragment
+ */
+public class PagedMoodAdapter extends RecyclerView.Adapter<MoodViewHolder> implements MoodHistory.Listener {
+
+    //----------------------//
+    //INTERFACE CALLBACK
+    //----------------------//
+
+    /**
+     * Callback interface used in the fragment to know when the user click on a element of the view
+     *
+     * @see com.galou.moodtracker.controllers.fragments.HistoryFragment#onClickCommentButton(int)
+     */
+    public interface Listener{
+        /**
+         * Callback for the Comment Button
+         * @param position
+         *      position of the item clicked
+         */
+        void onClickCommentButton(int position);
+        /**
+         * Callback for the Share Button
+         * @param position
+         *      position of the item clicked
+         */
+        void onClickShareButton(int position);
+    }
+
+    /**
+     * <b>
+     *     Compare a page of the previous snapshot with the same page of the new one
+     * </b>
+     * <p>
+     *     The same item is the mood of the same day, its content changed if the level or the comment changed
+     * </p>
+     *
+     * @see PagedMoodAdapter#onMoodsLoaded(int, int)
+     */
+    private static class PageDiffCallback extends DiffUtil.Callback {
+
+        private final List<Mood> oldPage;
+        private final List<Mood> newPage;
+
+        PageDiffCallback(List<Mood> oldPage, List<Mood> newPage) {
+            this.oldPage = oldPage;
+            this.newPage = newPage;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldPage.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newPage.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            return oldPage.get(oldPosition).getEpochDay() == newPage.get(newPosition).getEpochDay();
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            return oldPage.get(oldPosition).equals(newPage.get(newPosition));
+        }
+    }
+
+    // FOR DATA
+    /**
+     * History of the moods to display in the RecyclerView
+     *
+     * @see #PagedMoodAdapter(MoodHistory, float, Listener, Context)
+     * @see PagedMoodAdapter#submitHistory(MoodHistory)
+     */
+    private MoodHistory history;
+    /**
+     * Previous snapshot of the history, null before the first new snapshot
+     * <p>
+     *     Its pages still in memory are displayed until the same pages of the new snapshot are read,
+     *     then they are compared with them
+     * </p>
+     *
+     * @see PagedMoodAdapter#submitHistory(MoodHistory)
+     * @see PagedMoodAdapter#onMoodsLoaded(int, int)
+     */
+    private MoodHistory previousHistory;
+    /**
+     * Pages being compared on the background thread: position of their first mood, and number of moods compared
+     * <p>
+     *     Until the result is applied, their rows display the moods of the previous snapshot
+     * </p>
+     *
+     * @see PagedMoodAdapter#onMoodsLoaded(int, int)
+     */
+    private final Map<Integer, Integer> comparedPages = new HashMap<>();
+    /**
+     * Width of the screen
+     * <p>
+     *     Used to set the Mood width
+     * </p>
+     * @see #PagedMoodAdapter(MoodHistory, float, Listener, Context)
+     */
+    private final float widthScreen;
+    /**
+     * Callback Listener used to send action happening on th Recycler View to the Fragment
+     *
+     * @see #PagedMoodAdapter(MoodHistory, float, Listener, Context)
+     */
+    private final Listener callback;
+    /**
+     * Texts of the dates, shared by the ViewHolders
+     *
+     * @see #PagedMoodAdapter(MoodHistory, float, Listener, Context)
+     * @see MoodDateLabels
+     */
+    private final MoodDateLabels dateLabels;
+    /**
+     * Time to bind a mood, recorded without allocation
+     *
+     * @see MoodMetrics#HISTORY_BIND_MICROS
+     */
+    private final Histogram bindMicros;
+    /**
+     * Loader on whose background thread the pages are compared
+     *
+     * @see PagedMoodAdapter#onMoodsLoaded(int, int)
+     */
+    private final MoodLoader loader;
+    /**
+     * Read the texts of the dates again at midnight, while the adapter is attached to a RecyclerView
+     *
+     * @see PagedMoodAdapter#onAttachedToRecyclerView(RecyclerView)
+     */
+    private final Runnable midnightRefresh = new Runnable() {
+        @Override
+        public void run() {
+            refreshToday();
+            scheduleMidnightRefresh();
+        }
+    };
+    /**
+     * RecyclerView displaying the moods, null when the adapter is detached
+     */
+    private RecyclerView recyclerView;
+
+    /**
+     * Constructor, gets all the data from the fragment and listen to the pages read
+     *
+     * @param history
+     *      history of the moods to be displayed on the Recycler View
+     * @param widthScreen
+     *      width of the screen
+     * @param callback
+     *      callback to fragment
+     * @param context
+     *      Activity in which the Recycler View is located
+     *
+     * @see MoodHistory#setListener(MoodHistory.Listener)
+     */
+    public PagedMoodAdapter(MoodHistory history, float widthScreen, Listener callback, Context context) {
+        this.history = history;
+        this.widthScreen = widthScreen;
+        this.callback = callback;
+        this.dateLabels = MoodResources.dateLabels(context.getResources());
+        this.bindMicros = MoodMetrics.get(context).histogram(MoodMetrics.HISTORY_BIND_MICROS, MetricsRegistry.MICROS_BOUNDS);
+        this.loader = ((MoodTrackerApplication) context.getApplicationContext()).getMoodLoader();
+        this.history.setListener(this);
+    }
+
+    /**
+     * Display a new snapshot of the history
+     * <p>
+     *     The rows added or removed at the end are inserted or removed at once.
+     *     The rows already displayed keep the mood of the previous snapshot and are not bound again:
+     *     they are compared with the new moods when their page is read
+     * </p>
+     *
+     * @param newHistory
+     *      new history of the moods
+     *
+     * @see PagedMoodAdapter#onMoodsLoaded(int, int)
+     */
+    public void submitHistory(MoodHistory newHistory) {
+        int oldSize = this.history.size();
+        int newSize = newHistory.size();
+        this.refreshToday();
+        this.history.setListener(null);
+        this.comparedPages.clear();
+        this.previousHistory = this.history;
+        this.history = newHistory;
+        this.history.setListener(this);
+        if (newSize > oldSize) {
+            notifyItemRangeInserted(oldSize, newSize - oldSize);
+        } else if (newSize < oldSize) {
+            notifyItemRangeRemoved(newSize, oldSize - newSize);
+        }
+    }
+
+    /**
+     * Count the days from the current date, the items displayed are bound again if the day changed
+     *
+     * @see MoodDateLabels#refreshToday()
+     */
+    private void refreshToday() {
+        if (this.dateLabels.refreshToday()) {
+            notifyItemRangeChanged(0, getItemCount());
+        }
+    }
+
+    /**
+     * Schedule the next refresh of the texts of the dates, at midnight
+     *
+     * @see PagedMoodAdapter#midnightRefresh
+     */
+    private void scheduleMidnightRefresh() {
+        if (this.recyclerView != null) {
+            this.recyclerView.removeCallbacks(this.midnightRefresh);
+            this.recyclerView.postDelayed(this.midnightRefresh, this.dateLabels.getMillisUntilTomorrow());
+        }
+    }
+
+    /**
+     * Start refreshing the texts of the dates at midnight when the adapter is attached
+     *
+     * @param recyclerView
+     *      RecyclerView displaying the moods
+     *
+     * @see PagedMoodAdapter#scheduleMidnightRefresh()
+     */
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        this.recyclerView = recyclerView;
+        this.refreshToday();
+        this.scheduleMidnightRefresh();
+    }
+
+    /**
+     * Stop refreshing the texts of the dates when the adapter is detached
+     *
+     * @param recyclerView
+     *      RecyclerView displaying the moods
+     */
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        recyclerView.removeCallbacks(this.midnightRefresh);
+        this.recyclerView = null;
+    }
+
+    /**
+     * Create View Holder and inflate it with its layout XML
+     *
+     * @param parent
+     *      parent of the Recycler View
+     * @param viewType
+     *      type of view
+     * @return
+     *      new View Holder to display the moods
+     *
+     * @see MoodViewHolder
+     */
+    @NonNull
+    @Override
+    public MoodViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.fragment_history_item, parent, false);
+
+        return new MoodViewHolder(view, widthScreen, callback, dateLabels);
+    }
+
+    /**
+     * Update the ViewHolder with the mood at its position, or with a placeholder while it is read
+     * <p>
+     *     The pages around the position are requested before they are displayed.
+     *     While the page is read or compared, the mood of the previous snapshot is displayed if it is still in memory.
+     *     The time of the bind of the moods is measured
+     * </p>
+     *
+     * @param holder
+     *      View holder of the Recycler View item
+     * @param position
+     *      position in the list of the item
+     *
+     * @see MoodHistory#prefetch(int)
+     * @see MoodViewHolder#updateWithMood(Mood)
+     * @see MoodViewHolder#showPlaceholder()
+     */
+    @Override
+    public void onBindViewHolder(@NonNull MoodViewHolder holder, int position) {
+        this.history.prefetch(position);
+        Mood mood = this.isCompared(position) ? null : this.history.get(position);
+        if (mood == null && this.previousHistory != null) {
+            mood = this.previousHistory.peek(position);
+        }
+        if (mood != null) {
+            long start = System.nanoTime();
+            holder.updateWithMood(mood);
+            this.bindMicros.recordMicrosSince(start);
+        } else {
+            holder.showPlaceholder();
+        }
+    }
+
+    /**
+     * Return the total count of items in the history
+     * @return
+     *      total count of items
+     *
+     * @see MoodHistory#size()
+     */
+    @Override
+    public int getItemCount() {
+        return this.history.size();
+    }
+
+    /**
+     * Update the items whose moods have been read
+     * <p>
+     *     If the same page of the previous snapshot is still in memory, the two pages are compared
+     *     on the background thread of the loader, then only the moods inserted, removed, moved or changed are updated.
+     *     The result is dropped if another snapshot was submitted meanwhile, its own pages update the items.
+     *     Otherwise, and for the rows added at the end, the items are bound again at once
+     * </p>
+     *
+     * @param start
+     *      position of the first mood read
+     * @param count
+     *      number of moods read
+     *
+     * @see PageDiffCallback
+     * @see MoodLoader#execute(MoodLoader.Task, MoodLoader.Callback)
+     */
+    @Override
+    public void onMoodsLoaded(final int start, int count) {
+        int compared = this.previousHistory != null
+                ? Math.max(0, Math.min(count, this.previousHistory.size() - start)) : 0;
+        final List<Mood> oldPage = this.readPage(this.previousHistory, start, compared);
+        final List<Mood> newPage = this.readPage(this.history, start, compared);
+        if (oldPage == null || newPage == null) {
+            notifyItemRangeChanged(start, count);
+            return;
+        }
+        // both pages have the same size: the moods after them keep their positions
+        if (compared < count) {
+            notifyItemRangeChanged(start + compared, count - compared);
+        }
+        final MoodHistory comparedHistory = this.history;
+        this.comparedPages.put(start, compared);
+        this.loader.execute(new MoodLoader.Task<DiffUtil.DiffResult>() {
+            @Override
+            public DiffUtil.DiffResult run() {
+                return DiffUtil.calculateDiff(new PageDiffCallback(oldPage, newPage), false);
+            }
+        }, new MoodLoader.Callback<DiffUtil.DiffResult>() {
+            @Override
+            public void onLoaded(DiffUtil.DiffResult result) {
+                if (history != comparedHistory) {
+                    return;
+                }
+                comparedPages.remove(start);
+                result.dispatchUpdatesTo(new ListUpdateCallback() {
+                    @Override
+                    public void onInserted(int position, int count) {
+                        notifyItemRangeInserted(start + position, count);
+                    }
+
+                    @Override
+                    public void onRemoved(int position, int count) {
+                        notifyItemRangeRemoved(start + position, count);
+                    }
+
+                    @Override
+                    public void onMoved(int fromPosition, int toPosition) {
+                        notifyItemMoved(start + fromPosition, start + toPosition);
+                    }
+
+                    @Override
+                    public void onChanged(int position, int count, Object payload) {
+                        notifyItemRangeChanged(start + position, count, payload);
+                    }
+                });
+            }
+        });
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Return true if the mood at a position is in a page being compared
+     *
+     * @param position
+     *      position of the mood
+     * @return
+     *      true if the row must still display the mood of the previous snapshot
+     *
+     * @see PagedMoodAdapter#comparedPages
+     */
+    private boolean isCompared(int position) {
+        for (Map.Entry<Integer, Integer> page : this.comparedPages.entrySet()) {
+            if (position >= page.getKey() && position < page.getKey() + page.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the moods of a snapshot between two positions, if they are all in memory
+     *
+     * @param history
+     *      snapshot of the history, can be null
+     * @param start
+     *      position of the first mood
+     * @param count
+     *      number of moods
+     * @return
+     *      the moods, null if one of them is not in memory
+     *
+     * @see MoodHistory#peek(int)
+     */
+    private List<Mood> readPage(MoodHistory history, int start, int count) {
+        if (history == null || count == 0) {
+            return null;
+        }
+        List<Mood> page = new ArrayList<>(count);
+        for (int position = start; position < start + count; position++) {
+            Mood mood = history.peek(position);
+            if (mood == null) {
+                return null;
+            }
+            page.add(mood);
+        }
+        return page;
+    }
+}
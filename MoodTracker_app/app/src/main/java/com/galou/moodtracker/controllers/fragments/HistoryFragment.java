@@ -9,13 +9,16 @@ import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ProgressBar;
 import android.widget.Toast;
 
 import com.galou.moodtracker.R;
 import com.galou.moodtracker.controllers.activity.HistoryActivity;
-import com.galou.moodtracker.controllers.adapter.MoodAdapter;
+import com.galou.moodtracker.controllers.adapter.PagedMoodAdapter;
 import com.galou.moodtracker.models.Mood;
 import com.galou.moodtracker.models.MoodBank;
+import com.galou.moodtracker.models.MoodHistory;
+import com.galou.moodtracker.views.MoodResources;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
@@ -28,7 +31,7 @@ import butterknife.ButterKnife;
  *     Contains a RecyclerView that displays a history of the user's moods
  *
  *     A {@link Fragment} subclass
- *     Implements the interface Listener from MoodAdapter used as a callback to know when a user
+ *     Implements the interface Listener from PagedMoodAdapter used as a callback to know when a user
  *     click on an element of the RecyclerView
  * </p>
  *
@@ -37,11 +40,11 @@ import butterknife.ButterKnife;
  *
  * @see HistoryActivity
  * @see MoodBank
- * @see MoodAdapter
+ * @see PagedMoodAdapter
  * @see Fragment
  *
  */
-public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
+public class HistoryFragment extends Fragment implements PagedMoodAdapter.Listener{
 
     // FOR DESIGN
     /**
@@ -54,24 +57,31 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
      * @see HistoryFragment#configureRecyclerView()
      */
     @BindView(R.id.fragment_history_recyclerview) RecyclerView recyclerView;
+    /**
+     * Placeholder displayed while the moods are loading
+     *
+     * @see HistoryFragment#onHistoryLoaded()
+     */
+    @BindView(R.id.fragment_history_progress) ProgressBar progressBar;
 
     // FOR DATA
     /**
-     * MoodBank that contains the moods to display on the RecyclerView
+     * Moods to display on the RecyclerView
      * <p>
-     *     It contains the user's moods history
+     *     It contains the user's moods history, read page by page from the
+     *     {@link com.galou.moodtracker.models.MoodRepository}
      * </p>
      *
-     * @see HistoryFragment#setMoodBank()
+     * @see HistoryFragment#setMoodHistory()
      */
-    private MoodBank moodBank;
+    private MoodHistory moodHistory;
     /**
-     * MoodAdapter that bind the RecyclerView with the MoodBank
+     * PagedMoodAdapter that bind the RecyclerView with the moods history
      *
-     * @see MoodAdapter
+     * @see PagedMoodAdapter
      * @see com.galou.moodtracker.views.MoodViewHolder
      */
-    private MoodAdapter moodAdapter;
+    private PagedMoodAdapter moodAdapter;
     /**
      * Width of the screen
      * <p>
@@ -79,7 +89,7 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
      * </p>
      *
      * @see HistoryFragment#setScreenSize()
-     * @see com.galou.moodtracker.views.MoodViewHolder#setSizeCardViewForMood(int)
+     * @see com.galou.moodtracker.views.MoodViewHolder#setSizeCardViewForMood(com.galou.moodtracker.models.MoodLevel)
      */
     private float widthScreen;
     /**
@@ -103,9 +113,8 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
      *     <li>inflate with the layout</li>
      *     <li>Bind views with ButterKnife</li>
      *     <li>set the Activity name that contains the fragment</li>
-     *     <li>set the moodBank list to display it on the RecyclerView</li>
      *     <li>set the size of the screen</li>
-     *     <li>configure the RecyclerView with an adapter and the data to display</li>
+     *     <li>display the moods if they are already loaded, a placeholder otherwise</li>
      * </p>
      * @param inflater
      *      layout inflater
@@ -117,10 +126,8 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
      *      view inflated
      *
      * @see HistoryFragment#setHistoryActivity()
-     * @see HistoryFragment#setMoodBank()
      * @see HistoryFragment#setScreenSize()
-     * @see HistoryFragment#configureRecyclerView()
-     * @see MoodAdapter
+     * @see HistoryFragment#onHistoryLoaded()
      * @see HistoryActivity
      */
     @Override
@@ -129,20 +136,53 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
         View view = inflater.inflate(R.layout.fragment_history, container, false);
         ButterKnife.bind(this, view);
         this.setHistoryActivity();
-        this.setMoodBank();
         this.setScreenSize();
+        if (this.activity.getHistory() != null) {
+            this.onHistoryLoaded();
+        }
+        return view;
+    }
+
+    /**
+     * Actions executed when the moods history is loaded
+     * <p>
+     *     <li>set the moods history to display it on the RecyclerView</li>
+     *     <li>configure the RecyclerView with an adapter and the data to display</li>
+     *     <li>hide the placeholder</li>
+     * </p>
+     * <p>
+     *     If the moods are already displayed, the new history is given to the adapter
+     *     that only updates the rows which changed
+     * </p>
+     *
+     * @see HistoryActivity#getHistory()
+     * @see HistoryFragment#setMoodHistory()
+     * @see HistoryFragment#configureRecyclerView()
+     * @see PagedMoodAdapter
+     * @see PagedMoodAdapter#submitHistory(MoodHistory)
+     */
+    public void onHistoryLoaded(){
+        if (this.recyclerView == null) {
+            return;
+        }
+        if (this.moodAdapter != null) {
+            this.setMoodHistory();
+            this.moodAdapter.submitHistory(this.moodHistory);
+            return;
+        }
+        this.setMoodHistory();
         this.configureRecyclerView();
+        this.progressBar.setVisibility(View.GONE);
         this.checkIfMoodBankEmpty();
-        return view;
     }
 
     /**
      * Check if the bank is empty and display a Toats message if noo mood have been saved
      *
-     * @see HistoryFragment#moodBank
+     * @see HistoryFragment#moodHistory
      */
     private void checkIfMoodBankEmpty(){
-        if (moodBank.getMoodList().size() <= 0){
+        if (moodHistory.size() <= 0){
             Toast.makeText(getContext(), R.string.no_mood_saved_toast, Toast.LENGTH_LONG).show();
         }
 
@@ -162,13 +202,13 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
     }
 
     /**
-     * Set the MoodBank to be displayed by the RecyclerView
+     * Set the moods to be displayed by the RecyclerView
      *
-     * @see HistoryFragment#moodBank
+     * @see HistoryFragment#moodHistory
      * @see HistoryFragment#configureRecyclerView()
      */
-    private void setMoodBank(){
-        moodBank = this.activity.getBank();
+    private void setMoodHistory(){
+        moodHistory = this.activity.getHistory();
 
     }
 
@@ -189,13 +229,13 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
     /**
      * Configure the RecyclerView that display the moods, with an adapter and the correct data
      *
-     * @see MoodAdapter
-     * @see HistoryFragment#moodBank
+     * @see PagedMoodAdapter
+     * @see HistoryFragment#moodHistory
      * @see HistoryFragment#widthScreen
      * @see HistoryFragment#recyclerView
      */
     private void configureRecyclerView(){
-        this.moodAdapter = new MoodAdapter(this.moodBank.getMoodList(), widthScreen, this, this.getActivity());
+        this.moodAdapter = new PagedMoodAdapter(this.moodHistory, widthScreen, this, this.getActivity());
         this.recyclerView.setAdapter(moodAdapter);
         this.recyclerView.setLayoutManager(new LinearLayoutManager(getActivity()));
 
@@ -208,39 +248,68 @@ public class HistoryFragment extends Fragment implements MoodAdapter.Listener{
     /**
      * Actions when the user click on the button Comment from one of the element of the RecyclerView
      * <p>
-     *     Override method from the interface MoodAdapter.Listener
+     *     Override method from the interface PagedMoodAdapter.Listener
      *
-     *     Create a Toast that displays the mood comment on which the user clicked
+     *     Create a Toast that displays the mood comment on which the user clicked,
+     *     nothing is done if the mood is not read yet
      * </p>
      *
      * @param position
-     *      position in the moodBank list of the mood
+     *      position in the moods history of the mood
      */
     @Override
     public void onClickCommentButton(int position) {
-        Mood mood = moodBank.getMood(position);
-        Toast.makeText(getContext(), mood.getComment(), Toast.LENGTH_LONG).show();
+        Mood mood = getMoodAt(position);
+        if (mood != null) {
+            Toast.makeText(getContext(), mood.getComment(), Toast.LENGTH_LONG).show();
+        }
     }
 
     /**
      * Actions when the user click on the button Share from one of the element of the RecyclerView
      * <p>
-     *     Override method from the interface MoodAdapter.Listener
+     *     Override method from the interface PagedMoodAdapter.Listener
      *
-     *     Open a sharing Intent to share the Mood with another application
+     *     Open a sharing Intent to share the Mood with another application,
+     *     nothing is done if the mood is not read yet
      * </p>
      *
      * @param position
-     *      position in the moodBank list of the mood
+     *      position in the moods history of the mood
      *
-     * @see Mood#toString(Resources)
+     * @see MoodResources#toString(Mood, android.content.res.Resources)
      */
     @Override
     public void onClickShareButton(int position) {
+        Mood mood = getMoodAt(position);
+        if (mood == null) {
+            return;
+        }
         Intent sharingIntent = new Intent(Intent.ACTION_SEND);
         sharingIntent.setType("text/*");
-        sharingIntent.putExtra(Intent.EXTRA_TEXT, moodBank.getMood(position).toString(getResources()));
+        sharingIntent.putExtra(Intent.EXTRA_TEXT, MoodResources.toString(mood, getResources()));
         startActivity(Intent.createChooser(sharingIntent, getString(R.string.share_intent_share_your_mood)));
 
     }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Return the mood of an item of the RecyclerView
+     *
+     * @param position
+     *      adapter position of the item, NO_POSITION if it has been removed
+     * @return
+     *      the mood, null if the position is not valid or if the mood is not read yet
+     *
+     * @see MoodHistory#get(int)
+     */
+    private Mood getMoodAt(int position) {
+        if (position == RecyclerView.NO_POSITION || position >= moodHistory.size()) {
+            return null;
+        }
+        return moodHistory.get(position);
+    }
 }
@@ -6,11 +6,14 @@ import android.support.v4.app.Fragment;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.ProgressBar;
 import android.widget.Toast;
 
+import com.galou.moodtracker.MoodMetrics;
 import com.galou.moodtracker.R;
 import com.galou.moodtracker.controllers.activity.PieChartActivity;
-import com.galou.moodtracker.models.MoodBank;
+import com.galou.moodtracker.metrics.MetricsRegistry;
+import com.galou.moodtracker.models.MoodLevel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +30,8 @@ import lecho.lib.hellocharts.view.PieChartView;
  *     Represent a PieChart Fragment
  * </b>
  * <p>
- *     Contains a Pie Chart that displays a history of the user's moods
+ *     Contains a Pie Chart that displays a history of the user's moods,
+ *     between the two dates selected in the {@link PieChartActivity}, which counts them in the repository
  *
  *     A {@link Fragment} subclass
  * </p>
@@ -36,7 +40,6 @@ import lecho.lib.hellocharts.view.PieChartView;
  * @version 1.0
  *
  * @see PieChartActivity
- * @see MoodBank
  * @see Fragment
  *
  */
@@ -52,6 +55,12 @@ public class PieChartFragment extends Fragment {
      * @see PieChartFragment#setupPieChart()
      */
     @BindView(R.id.fragment_pie_chart_chart) PieChartView pieChartView;
+    /**
+     * Placeholder displayed while the moods are counted
+     *
+     * @see PieChartFragment#onCountsLoaded()
+     */
+    @BindView(R.id.fragment_pie_chart_progress) ProgressBar progressBar;
     /**
      * List that contains all the mood to display in the PieChart
      *
@@ -65,14 +74,11 @@ public class PieChartFragment extends Fragment {
      */
     private PieChartData pieChartData;
     /**
-     * MoodBank that contains the moods to display on the PieChart
-     * <p>
-     *     It contains the user's moods history
-     * </p>
+     * True once the PieChart has been set up with the first counts
      *
-     * @see PieChartFragment#setMoodBank()
+     * @see PieChartFragment#onCountsLoaded()
      */
-    private MoodBank moodBank;
+    private boolean isChartSetup;
     /**
      * Activity that contains the fragment, PieChart Activity
      *
@@ -163,8 +169,8 @@ public class PieChartFragment extends Fragment {
      *     <li>inflate with the layout</li>
      *     <li>Bind views with ButterKnife</li>
      *     <li>set the Activity name that contains the fragment</li>
-     *     <li>set the data to be in percent</li>
-     *     <li>set and display the Pie Chart</li>
+     *     <li>create the default slices</li>
+     *     <li>display the Pie Chart if the moods are already counted, a placeholder otherwise</li>
      * </p>
      * @param inflater
      *      layout inflater
@@ -176,9 +182,8 @@ public class PieChartFragment extends Fragment {
      *      view inflated
      *
      * @see PieChartFragment#setPieChartActivity()
-     * @see PieChartFragment#setMoodBank()
-     * @see PieChartFragment#setupDataInPercent()
-     * @see PieChartFragment#setupPieChart()
+     * @see PieChartFragment#setupDefaultSlice()
+     * @see PieChartFragment#onCountsLoaded()
      * @see PieChartActivity
      */
     @Override
@@ -187,13 +192,41 @@ public class PieChartFragment extends Fragment {
         View view = inflater.inflate(R.layout.fragment_pie_chart, container, false);
         ButterKnife.bind(this, view);
         this.setPieChartActivity();
-        this.setMoodBank();
         this.setupDefaultSlice();
-        this.setupDataInPercent();
-        this.setupPieChart();
+        if (activity.isCounted()) {
+            this.onCountsLoaded();
+        }
         return view;
     }
 
+    /**
+     * Actions executed when the moods of the range selected are counted
+     * <p>
+     *     <li>set the data to be in percent</li>
+     *     <li>set and display the Pie Chart the first time, hide the placeholder</li>
+     *     <li>animate the slices to the new values the next times</li>
+     * </p>
+     *
+     * @see PieChartFragment#setupDataInPercent()
+     * @see PieChartFragment#setupPieChart()
+     * @see PieChartActivity#getCount(MoodLevel)
+     */
+    public void onCountsLoaded(){
+        if (pieChartView == null) {
+            return;
+        }
+        this.setupDataInPercent();
+        if (!isChartSetup) {
+            isChartSetup = true;
+            this.setupPieChart();
+            progressBar.setVisibility(View.GONE);
+        } else {
+            this.setupSliceToTargetValue();
+            pieChartView.startDataAnimation();
+            this.showChartIfNotEmpty();
+        }
+    }
+
     //----------------------//
     //SET DATA
     //----------------------//
@@ -206,15 +239,6 @@ public class PieChartFragment extends Fragment {
         activity = (PieChartActivity) getActivity();
     }
 
-    /**
-     * Set the MoodBank to be displayed by the RecyclerView
-     *
-     * @see PieChartFragment#moodBank
-     */
-    private void setMoodBank(){
-        moodBank = activity.getBank();
-    }
-
     /**
      * Create default Slice with name and add them to the pieData
      * <p>
@@ -255,7 +279,10 @@ public class PieChartFragment extends Fragment {
     }
 
     /**
-     * Setup number of moods in percent
+     * Setup number of moods in percent, between the days selected in the activity
+     * <p>
+     *     The numbers are counted by the activity in the repository, the history is not scanned
+     * </p>
      *
      * @see PieChartFragment#getPercent(float)
      * @see PieChartFragment#percentSad
@@ -263,13 +290,14 @@ public class PieChartFragment extends Fragment {
      * @see PieChartFragment#percentNormal
      * @see PieChartFragment#percentHappy
      * @see PieChartFragment#percentSupHappy
+     * @see PieChartActivity#getCount(MoodLevel)
      */
     private void setupDataInPercent(){
-        float sad = (float) moodBank.getNbSad();
-        float disappointed = (float) moodBank.getNbDisappointed();
-        float normal = (float) moodBank.getNbNormal();
-        float happy = (float) moodBank.getNbHappy();
-        float superHappy = (float) moodBank.getNbSuperHappy();
+        float sad = (float) activity.getCount(MoodLevel.SAD);
+        float disappointed = (float) activity.getCount(MoodLevel.DISAPPOINTED);
+        float normal = (float) activity.getCount(MoodLevel.NORMAL);
+        float happy = (float) activity.getCount(MoodLevel.HAPPY);
+        float superHappy = (float) activity.getCount(MoodLevel.SUPER_HAPPY);
 
         nbTotalMood = sad + disappointed + normal + happy + superHappy;
 
@@ -285,12 +313,14 @@ public class PieChartFragment extends Fragment {
     //SET VIEW
     //----------------------//
     /**
-     * Setup the PieChart View look
+     * Setup the PieChart View look, the time to build it is measured
      *
      * @see PieChartFragment#pieData
      * @see PieChartFragment#pieChartView
+     * @see MoodMetrics#PIE_CHART_BUILD_MICROS
      */
     private void setupPieChart(){
+        long start = System.nanoTime();
         pieChartData.setHasLabels(true);
         pieChartData.setHasLabelsOnlyForSelected(true);
 
@@ -299,10 +329,23 @@ public class PieChartFragment extends Fragment {
         pieChartView.startDataAnimation();
         pieChartView.setPieChartData(pieChartData);
 
+        this.showChartIfNotEmpty();
+        MoodMetrics.get(getContext()).histogram(MoodMetrics.PIE_CHART_BUILD_MICROS, MetricsRegistry.MICROS_BOUNDS)
+                .recordMicrosSince(start);
+    }
 
+    /**
+     * Hide the PieChart and tell the user if there is no mood to display
+     *
+     * @see PieChartFragment#nbTotalMood
+     */
+    private void showChartIfNotEmpty(){
         if(nbTotalMood <= 0){
             pieChartView.setVisibility(View.GONE);
-            Toast.makeText(getContext(), R.string.no_mood_saved_toast, Toast.LENGTH_LONG).show();
+            int message = activity.hasMoods() ? R.string.no_mood_in_range_toast : R.string.no_mood_saved_toast;
+            Toast.makeText(getContext(), message, Toast.LENGTH_LONG).show();
+        } else {
+            pieChartView.setVisibility(View.VISIBLE);
         }
     }
 
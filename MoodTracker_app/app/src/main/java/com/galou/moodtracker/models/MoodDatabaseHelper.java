@@ -0,0 +1,67 @@
+package com.galou.moodtracker.models;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+/**
+ * <b>
+ *     Create the SQLite database of the moods
+ * </b>
+ * <p>
+ *     The tables and their indexes are described by {@link MoodSchema}
+ *
+ *     A {@link SQLiteOpenHelper} subclass
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodSchema
+ * @see SqliteMoodRepository
+ */
+public class MoodDatabaseHelper extends SQLiteOpenHelper {
+
+    /**
+     * Name of the database file
+     */
+    public static final String DATABASE_NAME = "moods.db";
+
+    /**
+     * Constructor
+     *
+     * @param context
+     *      context of the application
+     */
+    public MoodDatabaseHelper(Context context) {
+        super(context, DATABASE_NAME, null, MoodSchema.VERSION);
+    }
+
+    /**
+     * Create the tables and their indexes
+     *
+     * @param db
+     *      database created
+     *
+     * @see MoodSchema#CREATE_STATEMENTS
+     */
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        for (String statement : MoodSchema.CREATE_STATEMENTS) {
+            db.execSQL(statement);
+        }
+    }
+
+    /**
+     * Upgrade the schema, there is only one version for now
+     *
+     * @param db
+     *      database upgraded
+     * @param oldVersion
+     *      version of the database on the device
+     * @param newVersion
+     *      version of the application
+     */
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {}
+}
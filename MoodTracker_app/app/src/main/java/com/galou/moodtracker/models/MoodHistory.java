@@ -0,0 +1,237 @@
+package com.galou.moodtracker.models;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <b>
+ *     Represents the history of the user's moods, read page by page from the repository
+ * </b>
+ * <p>
+ *     The pages are read by the {@link MoodLoader} on its background thread, never on the UI thread.
+ *     A mood whose page is not read yet is returned as null and its page is requested,
+ *     the {@link Listener} is told when the moods arrive.
+ *
+ *     The pages around the position displayed are read before they are needed,
+ *     only the last pages read are kept in memory, so the memory used does not depend on the size of the history.
+ *     A page that can't be read is not kept, it is requested again the next time one of its moods is displayed.
+ *
+ *     The methods are called on the UI thread.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodLoader#loadHistory(int, MoodLoader.Callback)
+ * @see com.galou.moodtracker.controllers.adapter.PagedMoodAdapter
+ */
+public class MoodHistory {
+
+    /**
+     * Number of pages read ahead of the page displayed, in each direction
+     */
+    public static final int PREFETCH_PAGES = 1;
+    /**
+     * Number of pages kept in memory, the page displayed and the pages read ahead must fit in it
+     */
+    public static final int MAX_PAGES = 2 * PREFETCH_PAGES + 3;
+
+    //----------------------//
+    //INTERFACE CALLBACK
+    //----------------------//
+
+    /**
+     * Callback interface used to know when the moods of a page are read
+     *
+     * @see com.galou.moodtracker.controllers.adapter.PagedMoodAdapter#onMoodsLoaded(int, int)
+     */
+    public interface Listener {
+        /**
+         * Called on the UI thread when moods are read
+         *
+         * @param start
+         *      position of the first mood read
+         * @param count
+         *      number of moods read
+         */
+        void onMoodsLoaded(int start, int count);
+    }
+
+    // FOR DATA
+    /**
+     * Loader reading the pages on its background thread
+     */
+    private final MoodLoader loader;
+    /**
+     * Number of moods of the history
+     */
+    private final int size;
+    /**
+     * Number of moods of a page
+     */
+    private final int pageSize;
+    /**
+     * Pages kept in memory, the least recently read is removed first
+     */
+    private final Map<Integer, List<Mood>> pages;
+    /**
+     * Pages requested to the loader and not received yet
+     */
+    private final Set<Integer> requestedPages;
+    /**
+     * Listener told when moods are read, can be null
+     *
+     * @see MoodHistory#setListener(Listener)
+     */
+    private Listener listener;
+
+    /**
+     * Constructor
+     *
+     * @param loader
+     *      loader reading the pages
+     * @param size
+     *      number of moods of the history
+     * @param pageSize
+     *      number of moods of a page
+     */
+    public MoodHistory(MoodLoader loader, int size, int pageSize) {
+        this.loader = loader;
+        this.size = size;
+        this.pageSize = pageSize;
+        this.requestedPages = new HashSet<>();
+        this.pages = new LinkedHashMap<Integer, List<Mood>>(MAX_PAGES + 1, 1f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Mood>> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+    }
+
+    //----------------------//
+    //SET DATA
+    //----------------------//
+
+    /**
+     * Set the listener told when moods are read
+     *
+     * @param listener
+     *      listener, null to stop being told
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Request the pages around a position, before they are displayed
+     *
+     * @param position
+     *      position displayed
+     *
+     * @see MoodHistory#PREFETCH_PAGES
+     */
+    public void prefetch(int position) {
+        int pageIndex = position / pageSize;
+        int lastPage = (size - 1) / pageSize;
+        for (int i = Math.max(0, pageIndex - PREFETCH_PAGES); i <= Math.min(lastPage, pageIndex + PREFETCH_PAGES); i++) {
+            if (!pages.containsKey(i)) {
+                requestPage(i);
+            }
+        }
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the mood at a position, its page is requested if it is not in memory
+     *
+     * @param position
+     *      position of the mood, from the oldest to the newest
+     * @return
+     *      the mood, null until its page is read
+     */
+    public Mood get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", size: " + size);
+        }
+        int pageIndex = position / pageSize;
+        List<Mood> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        int indexInPage = position - pageIndex * pageSize;
+        return indexInPage < page.size() ? page.get(indexInPage) : null;
+    }
+
+    /**
+     * Return the mood at a position if its page is in memory, without requesting it
+     *
+     * @param position
+     *      position of the mood, from the oldest to the newest
+     * @return
+     *      the mood, null if its page is not in memory
+     *
+     * @see com.galou.moodtracker.controllers.adapter.PagedMoodAdapter#onMoodsLoaded(int, int)
+     */
+    public Mood peek(int position) {
+        if (position < 0 || position >= size) {
+            return null;
+        }
+        int pageIndex = position / pageSize;
+        List<Mood> page = pages.get(pageIndex);
+        int indexInPage = position - pageIndex * pageSize;
+        return page != null && indexInPage < page.size() ? page.get(indexInPage) : null;
+    }
+
+    /**
+     * Return the number of moods of the history
+     *
+     * @return
+     *      number of moods
+     */
+    public int size() {
+        return size;
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Request a page to the loader, if it is not already requested
+     * <p>
+     *     A page that can't be read is forgotten, so the next {@link MoodHistory#get(int)} requests it again
+     * </p>
+     *
+     * @param pageIndex
+     *      index of the page
+     *
+     * @see MoodLoader#loadPage(int, int, MoodLoader.Callback)
+     */
+    private void requestPage(final int pageIndex) {
+        if (!requestedPages.add(pageIndex)) {
+            return;
+        }
+        final int start = pageIndex * pageSize;
+        final int count = Math.min(pageSize, size - start);
+        loader.loadPage(start, count, new MoodLoader.Callback<List<Mood>>() {
+            @Override
+            public void onLoaded(List<Mood> data) {
+                requestedPages.remove(pageIndex);
+                if (data == null) {
+                    return;
+                }
+                pages.put(pageIndex, data);
+                if (listener != null) {
+                    listener.onMoodsLoaded(start, count);
+                }
+            }
+        });
+    }
+}
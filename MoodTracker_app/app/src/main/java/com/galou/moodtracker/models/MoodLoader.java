@@ -0,0 +1,749 @@
+package com.galou.moodtracker.models;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.SQLException;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.galou.moodtracker.MoodMetrics;
+import com.galou.moodtracker.R;
+import com.galou.moodtracker.metrics.MetricsRegistry;
+import com.galou.moodtracker.trace.StartupTrace;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>
+ *     Load and save the user's moods out of the UI thread
+ * </b>
+ * <p>
+ *     All the accesses to the {@link MoodRepository} are executed one after the other on a background thread,
+ *     so a mood is never read while it is written.
+ *     The data read are delivered to a {@link Callback} on the UI thread.
+ *
+ *     A single loader is shared by all the activities, see {@link com.galou.moodtracker.MoodTrackerApplication}.
+ *     The MoodBank and the size of the history are read once and kept in memory, they are only read again
+ *     after a mood is added to the repository. The objects already delivered are never modified.
+ *     The pages of the history are read when they are about to be displayed, see {@link MoodHistory}.
+ *
+ *     The moods saved by the previous versions in the SharedPreferences are moved to the repository before the first read.
+ *
+ *     The temporary mood is written behind: the saves requested while a write is waiting are merged in one,
+ *     and nothing is written if the mood did not change since the last write.
+ *     The UI thread only queues the write, the background thread writes it. Until then the mood is only in memory:
+ *     when the user leaves the application, {@link MoodLoader#awaitPendingWrite(long)} waits for it a bounded time,
+ *     before the system can kill the process.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodRepository
+ * @see MoodBank
+ */
+public class MoodLoader {
+
+    /**
+     * Tag used to log the errors of the loader
+     */
+    private static final String TAG = "MoodLoader";
+
+    /**
+     * Charset of the comments, to count the bytes written
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Key of the SharedPreferences in which the previous versions stored the user's data
+     *
+     * @see MoodLoader#migratePrefsToRepository()
+     */
+    public static final String SHARED_PREF_KEY = "moodTrackerPrefs";
+    /**
+     * Key of the MoodBank saved in JSON by the previous versions
+     *
+     * @see MoodLoader#migratePrefsToRepository()
+     */
+    public static final String PREF_KEY_FEELING_BANK = "moodBank";
+    /**
+     * Key of the temporary Mood saved in JSON by the previous versions
+     *
+     * @see MoodLoader#migratePrefsToRepository()
+     */
+    public static final String PREF_KEY_FEELING_TMP = "feelingTempKey";
+
+    /**
+     * Maximum time the UI thread waits for the temporary mood to be written when the user leaves the application
+     *
+     * @see MoodLoader#awaitPendingWrite(long)
+     */
+    public static final long PENDING_WRITE_TIMEOUT_MILLIS = 500;
+
+    /**
+     * Callback used to deliver the data loaded on the UI thread
+     *
+     * @param <T>
+     *      type of the data loaded
+     */
+    public interface Callback<T> {
+        /**
+         * Called on the UI thread when the data are loaded
+         *
+         * @param data
+         *      data loaded
+         */
+        void onLoaded(T data);
+    }
+
+    /**
+     * Work executed on the background thread, whose result is delivered to a {@link Callback}
+     *
+     * @param <T>
+     *      type of the result
+     *
+     * @see MoodLoader#execute(Task, Callback)
+     */
+    public interface Task<T> {
+        /**
+         * Called on the background thread
+         *
+         * @return
+         *      result delivered to the callback
+         */
+        T run();
+    }
+
+    // FOR DATA
+    /**
+     * Application context, used to read the SharedPreferences
+     */
+    private final Context context;
+    /**
+     * Trace of the startup, in which the first reads are measured
+     */
+    private final StartupTrace startupTrace;
+    /**
+     * Metrics of the application, in which the reads and writes are measured
+     *
+     * @see MoodMetrics
+     */
+    private final MetricsRegistry metrics;
+    /**
+     * Repository in which are saved the user's moods, opened on the background thread
+     *
+     * @see MoodLoader#openRepository()
+     * @see SqliteMoodRepository
+     */
+    private MoodRepository moodRepository;
+    /**
+     * Number of moods kept in the MoodBank
+     *
+     * @see MoodBank#MoodBank(int)
+     */
+    private final int windowSize;
+    /**
+     * Thread on which the repository is read and written
+     */
+    private final ExecutorService executor;
+    /**
+     * Handler used to deliver the data on the UI thread
+     */
+    private final Handler mainHandler;
+    /**
+     * MoodBank loaded from the repository, only accessed on the background thread
+     *
+     * @see MoodLoader#loadBankIfNeeded()
+     * @see MoodLoader#invalidate()
+     */
+    private MoodBank moodBank;
+    /**
+     * Number of moods of the history, -1 until it is read, only accessed on the background thread
+     *
+     * @see MoodLoader#loadHistory(int, Callback)
+     * @see MoodLoader#invalidate()
+     */
+    private int historySize = -1;
+    /**
+     * Lock protecting the temporary mood waiting to be written
+     *
+     * @see MoodLoader#dirtyPending
+     * @see MoodLoader#isFlushScheduled
+     * @see MoodLoader#pendingWritten
+     */
+    private final Object pendingLock = new Object();
+    /**
+     * Last temporary mood requested, waiting to be written
+     *
+     * @see MoodLoader#savePending(Mood)
+     */
+    private Mood dirtyPending;
+    /**
+     * True if a write of the temporary mood is waiting on the background thread
+     *
+     * @see MoodLoader#savePending(Mood)
+     */
+    private boolean isFlushScheduled;
+    /**
+     * Opened when the last write of the temporary mood scheduled is done, guarded by the lock
+     *
+     * @see MoodLoader#awaitPendingWrite(long)
+     */
+    private CountDownLatch pendingWritten = new CountDownLatch(0);
+    /**
+     * Temporary mood saved in the repository, only accessed on the background thread
+     *
+     * @see MoodLoader#writeDirtyPending()
+     */
+    private Mood savedPending;
+    /**
+     * True if the repository has been opened and the moods of the previous versions moved to it
+     *
+     * @see MoodLoader#openRepository()
+     */
+    private boolean isRepositoryOpened;
+
+    /**
+     * Constructor
+     *
+     * @param context
+     *      context of the application
+     * @param startupTrace
+     *      trace of the startup of the application
+     * @param metrics
+     *      metrics of the application
+     */
+    public MoodLoader(Context context, StartupTrace startupTrace, MetricsRegistry metrics) {
+        this.context = context.getApplicationContext();
+        this.startupTrace = startupTrace;
+        this.metrics = metrics;
+        this.windowSize = this.context.getResources().getInteger(R.integer.mood_bank_window_size);
+        this.executor = Executors.newSingleThreadExecutor();
+        this.mainHandler = new Handler(Looper.getMainLooper());
+    }
+
+    //----------------------//
+    //READ DATA
+    //----------------------//
+
+    /**
+     * Load the user's MoodBank from the repository
+     *
+     * @param callback
+     *      callback receiving the MoodBank
+     *
+     * @see MoodBank
+     */
+    public void loadMoodBank(final Callback<MoodBank> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, loadBankIfNeeded());
+            }
+        });
+    }
+
+    /**
+     * Count the moods saved in the repository and create the history displaying them
+     * <p>
+     *     The history is created on the UI thread, its pages are read later with
+     *     {@link MoodLoader#loadPage(int, int, Callback)}
+     * </p>
+     *
+     * @param pageSize
+     *      number of moods read at once
+     * @param callback
+     *      callback receiving the history, from the oldest to the newest
+     *
+     * @see MoodHistory
+     */
+    public void loadHistory(final int pageSize, final Callback<MoodHistory> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (historySize < 0) {
+                    try {
+                        openRepository();
+                        historySize = moodRepository.getCount();
+                    } catch (SQLException e) {
+                        Log.e(TAG, "Unable to read the moods history", e);
+                        historySize = 0;
+                    }
+                }
+                final int size = historySize;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onLoaded(new MoodHistory(MoodLoader.this, size, pageSize));
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Read a page of the moods saved in the repository
+     *
+     * @param start
+     *      position of the first mood of the page, from the oldest to the newest
+     * @param count
+     *      number of moods of the page
+     * @param callback
+     *      callback receiving the moods of the page, null if they can't be read
+     *
+     * @see MoodRepository#loadPage(int, int)
+     * @see MoodHistory
+     */
+    public void loadPage(final int start, final int count, final Callback<List<Mood>> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                List<Mood> page;
+                try {
+                    openRepository();
+                    page = moodRepository.loadPage(start, count);
+                } catch (SQLException e) {
+                    Log.e(TAG, "Unable to read the moods history", e);
+                    page = null;
+                }
+                deliver(callback, page);
+            }
+        });
+    }
+
+    /**
+     * Count the moods of each level saved in the repository between two dates
+     * <p>
+     *     The moods are counted on the index of the levels, none of them is read
+     * </p>
+     *
+     * @param fromDay
+     *      first day in epoch-day, included
+     * @param toDay
+     *      last day in epoch-day, included
+     * @param callback
+     *      callback receiving the number of moods of each level, indexed by {@link MoodLevel#ordinal()},
+     *      null if they can't be counted
+     *
+     * @see MoodRepository#count(MoodLevel, int, int)
+     */
+    public void loadCounts(final int fromDay, final int toDay, final Callback<int[]> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                int[] counts = new int[MoodLevel.COUNT];
+                try {
+                    openRepository();
+                    for (MoodLevel level : MoodLevel.values()) {
+                        counts[level.ordinal()] = moodRepository.count(level, fromDay, toDay);
+                    }
+                } catch (SQLException e) {
+                    Log.e(TAG, "Unable to count the moods", e);
+                    counts = null;
+                }
+                deliver(callback, counts);
+            }
+        });
+    }
+
+    /**
+     * Load the temporary mood of the user
+     * <p>
+     *     If the temporary mood is not from today, it is added to the repository
+     *     and removed from the temporary slot in the same transaction, so it can't be added twice.
+     *     The MoodBank and the history are then read again when they are needed
+     * </p>
+     *
+     * @param today
+     *      today's date in epoch-day
+     * @param callback
+     *      callback receiving the temporary mood of today, null if the user did not choose a mood today
+     *
+     * @see MoodRepository#readPending()
+     */
+    public void loadTodayMood(final int today, final Callback<Mood> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                StartupTrace.Section section = startupTrace.begin("MoodLoader.loadTodayMood");
+                try {
+                    deliver(callback, readTodayMood(today));
+                } finally {
+                    section.end();
+                }
+            }
+        });
+    }
+
+    /**
+     * Execute a work out of the UI thread, after the reads and writes already requested
+     * <p>
+     *     Used for the computations too long for the UI thread, the task must not modify the objects used by the UI thread
+     * </p>
+     *
+     * @param task
+     *      work executed on the background thread
+     * @param callback
+     *      callback receiving the result on the UI thread
+     * @param <T>
+     *      type of the result
+     */
+    public <T> void execute(final Task<T> task, final Callback<T> callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(callback, task.run());
+            }
+        });
+    }
+
+    //----------------------//
+    //SAVE DATA
+    //----------------------//
+
+    /**
+     * Save the temporary mood of the user, after the reads already requested
+     * <p>
+     *     The mood is written on the background thread. If a write is already waiting,
+     *     only the last mood requested is written
+     * </p>
+     *
+     * @param mood
+     *      temporary mood
+     *
+     * @see MoodLoader#writeDirtyPending()
+     */
+    public void savePending(Mood mood) {
+        synchronized (pendingLock) {
+            dirtyPending = mood;
+            if (isFlushScheduled) {
+                return;
+            }
+            isFlushScheduled = true;
+            pendingWritten = new CountDownLatch(1);
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                writeDirtyPending();
+            }
+        });
+    }
+
+    /**
+     * Wait until the last temporary mood requested is written, at most a given time
+     * <p>
+     *     Blocks the calling thread, used when the user leaves the application.
+     *     The write can be queued behind reads of the history, so the wait is bounded to keep the UI thread responsive
+     * </p>
+     *
+     * @param timeoutMillis
+     *      maximum time to wait, in milliseconds
+     * @return
+     *      true if the mood is written, or if there was nothing to write
+     *
+     * @see MoodLoader#savePending(Mood)
+     * @see MoodMetrics#PENDING_WAIT_TIMEOUTS
+     */
+    public boolean awaitPendingWrite(long timeoutMillis) {
+        CountDownLatch written;
+        synchronized (pendingLock) {
+            written = pendingWritten;
+        }
+        try {
+            if (written.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Log.e(TAG, "The temporary mood was not written after " + timeoutMillis + " ms");
+        metrics.counter(MoodMetrics.PENDING_WAIT_TIMEOUTS).increment();
+        return false;
+    }
+
+    /**
+     * Append the metrics measured since the last export to the file of the metrics, after the reads and writes already requested
+     *
+     * @see MoodMetrics#FILE_NAME
+     * @see MetricsRegistry#exportTo(File, long)
+     */
+    public void exportMetrics() {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    metrics.exportTo(new File(context.getFilesDir(), MoodMetrics.FILE_NAME), System.currentTimeMillis());
+                } catch (IOException e) {
+                    Log.e(TAG, "Unable to export the metrics", e);
+                }
+            }
+        });
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Read the temporary mood, and add it to the repository if it is from a previous day
+     * <p>
+     *     Only called on the background thread
+     * </p>
+     *
+     * @param today
+     *      today's date in epoch-day
+     * @return
+     *      the temporary mood of today, null if the user did not choose a mood today
+     */
+    private Mood readTodayMood(int today) {
+        Mood pending;
+        try {
+            openRepository();
+            pending = moodRepository.readPending();
+        } catch (SQLException e) {
+            Log.e(TAG, "Unable to read the temporary mood", e);
+            pending = null;
+        }
+
+        savedPending = pending;
+        if (pending != null && pending.getEpochDay() != today) {
+            try {
+                moodRepository.commitPending(pending);
+                savedPending = null;
+            } catch (SQLException e) {
+                Log.e(TAG, "Unable to add the temporary mood to the repository", e);
+            }
+            invalidate();
+            pending = null;
+        }
+        return pending;
+    }
+
+    /**
+     * Load the MoodBank from the repository the first time it is needed
+     * <p>
+     *     Only called on the background thread
+     * </p>
+     *
+     * @return
+     *      the MoodBank, empty if the repository can't be read: it is then read again the next time
+     *
+     * @see MoodRepository#loadInto(MoodBank)
+     */
+    private MoodBank loadBankIfNeeded() {
+        if (moodBank != null) {
+            return moodBank;
+        }
+        StartupTrace.Section section = startupTrace.begin("MoodLoader.loadMoodBank");
+        try {
+            long start = System.nanoTime();
+            MoodBank bank = new MoodBank(windowSize);
+            try {
+                openRepository();
+                moodRepository.loadInto(bank);
+                moodBank = bank;
+            } catch (SQLException e) {
+                Log.e(TAG, "Unable to read the moods", e);
+                return new MoodBank(windowSize);
+            }
+            metrics.counter(MoodMetrics.BANK_LOADS).increment();
+            metrics.histogram(MoodMetrics.BANK_LOAD_MICROS, MetricsRegistry.MICROS_BOUNDS).recordMicrosSince(start);
+            return bank;
+        } finally {
+            section.end();
+        }
+    }
+
+    /**
+     * Write the last temporary mood requested, then open the latch of the threads waiting for it
+     * <p>
+     *     Only called on the background thread, the latch is opened even if the write failed
+     * </p>
+     *
+     * @see MoodLoader#dirtyPending
+     * @see MoodLoader#pendingWritten
+     */
+    private void writeDirtyPending() {
+        Mood mood;
+        CountDownLatch written;
+        synchronized (pendingLock) {
+            mood = dirtyPending;
+            dirtyPending = null;
+            isFlushScheduled = false;
+            written = pendingWritten;
+        }
+        try {
+            writePendingIfChanged(mood);
+        } finally {
+            written.countDown();
+        }
+    }
+
+    /**
+     * Write a temporary mood, if it is not the one already saved
+     * <p>
+     *     Only called on the background thread, the repository is opened first if the save is the first task
+     * </p>
+     *
+     * @param mood
+     *      temporary mood requested, null if none
+     *
+     * @see MoodLoader#savedPending
+     * @see MoodRepository#writePending(Mood)
+     */
+    private void writePendingIfChanged(Mood mood) {
+        if (mood == null || mood.equals(savedPending)) {
+            metrics.counter(MoodMetrics.PENDING_SKIPPED).increment();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            openRepository();
+            moodRepository.writePending(mood);
+            savedPending = mood;
+        } catch (SQLException e) {
+            Log.e(TAG, "Unable to save the temporary mood", e);
+            return;
+        }
+        metrics.histogram(MoodMetrics.PENDING_WRITE_MICROS, MetricsRegistry.MICROS_BOUNDS).recordMicrosSince(start);
+        metrics.counter(MoodMetrics.PENDING_WRITES).increment();
+        metrics.counter(MoodMetrics.PENDING_ESTIMATED_BYTES).add(estimateWrittenBytes(mood));
+    }
+
+    /**
+     * Estimate the number of bytes of a mood written in the repository
+     *
+     * @param mood
+     *      mood written
+     * @return
+     *      size of its level and date, and of its comment in UTF-8, without the overhead of SQLite
+     *
+     * @see MoodMetrics#PENDING_ESTIMATED_BYTES
+     */
+    private static int estimateWrittenBytes(Mood mood) {
+        String comment = mood.getComment();
+        int bytes = 2 * 4;
+        return comment == null ? bytes : bytes + comment.getBytes(UTF_8).length;
+    }
+
+    /**
+     * Forget the MoodBank and the history read from the repository after a mood is added to it
+     * <p>
+     *     Only called on the background thread.
+     *     The activities keep the objects they received, the next ones receive new objects
+     * </p>
+     *
+     * @see MoodLoader#moodBank
+     * @see MoodLoader#historySize
+     */
+    private void invalidate() {
+        moodBank = null;
+        historySize = -1;
+    }
+
+    /**
+     * Deliver data to a callback on the UI thread
+     *
+     * @param callback
+     *      callback receiving the data
+     * @param data
+     *      data loaded
+     * @param <T>
+     *      type of the data
+     */
+    private <T> void deliver(final Callback<T> callback, final T data) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                callback.onLoaded(data);
+            }
+        });
+    }
+
+    /**
+     * Open the repository before its first read
+     * <p>
+     *     Only called on the background thread, executed once it succeeded.
+     *     The moods saved by the previous versions in the SharedPreferences are moved to it.
+     *     If the database can't be opened, the task calling it fails and the next task tries again
+     * </p>
+     *
+     * @throws SQLException
+     *      if the database can't be opened or upgraded
+     *
+     * @see SqliteMoodRepository
+     * @see MoodLoader#migratePrefsToRepository()
+     */
+    private void openRepository() {
+        if (isRepositoryOpened) {
+            return;
+        }
+        StartupTrace.Section section = startupTrace.begin("MoodLoader.openRepository");
+        try {
+            moodRepository = new SqliteMoodRepository(context);
+            isRepositoryOpened = true;
+            migratePrefsToRepository();
+        } finally {
+            section.end();
+        }
+    }
+
+    /**
+     * Move the MoodBank and the temporary Mood saved in JSON in the SharedPreferences to the repository
+     * <p>
+     *     Executed only once, the keys are removed from the SharedPreferences when the moods are stored.
+     *     The dates saved as Calendar are converted in epoch-day
+     * </p>
+     *
+     * @see MoodLoader#PREF_KEY_FEELING_BANK
+     * @see MoodLoader#PREF_KEY_FEELING_TMP
+     * @see MoodRepository#insertAll(java.util.List)
+     * @see MoodRepository#writePending(Mood)
+     * @see MoodGson
+     */
+    private void migratePrefsToRepository() {
+        SharedPreferences preferences = context.getSharedPreferences(SHARED_PREF_KEY, Context.MODE_PRIVATE);
+        String jsonFeelingBank = preferences.getString(PREF_KEY_FEELING_BANK, null);
+        String jsonFeelingTmp = preferences.getString(PREF_KEY_FEELING_TMP, null);
+        if (jsonFeelingBank == null && jsonFeelingTmp == null) {
+            return;
+        }
+
+        Gson gson = MoodGson.get();
+        try {
+            if (jsonFeelingBank != null && moodRepository.getCount() == 0) {
+                long start = System.nanoTime();
+                MoodBank legacyBank = gson.fromJson(jsonFeelingBank, MoodBank.class);
+                metrics.histogram(MoodMetrics.BANK_PARSE_MICROS, MetricsRegistry.MICROS_BOUNDS).recordMicrosSince(start);
+                if (legacyBank != null) {
+                    moodRepository.insertAll(legacyBank.getMoodList());
+                }
+            }
+            if (jsonFeelingTmp != null) {
+                Mood legacyTmp = gson.fromJson(jsonFeelingTmp, Mood.class);
+                if (legacyTmp != null) {
+                    moodRepository.writePending(legacyTmp);
+                }
+            }
+        } catch (SQLException | JsonParseException e) {
+            Log.e(TAG, "Unable to migrate the moods to the repository", e);
+            return;
+        }
+
+        preferences.edit()
+                .remove(PREF_KEY_FEELING_BANK)
+                .remove(PREF_KEY_FEELING_TMP)
+                .apply();
+    }
+}
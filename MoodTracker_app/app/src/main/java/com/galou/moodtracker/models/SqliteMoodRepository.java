@@ -0,0 +1,334 @@
+package com.galou.moodtracker.models;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.galou.moodtracker.models.MoodSchema.MOOD_COLUMNS;
+import static com.galou.moodtracker.models.MoodSchema.TABLE_PENDING;
+
+/**
+ * <b>
+ *     Store the user's moods in a SQLite database
+ * </b>
+ * <p>
+ *     The moods are ordered by date, there is one mood per day: a mood added for a day already stored replaces it.
+ *     The statements executed for each mood added are compiled once and reused.
+ *     The SQL comes from {@link MoodSchema}, shared with the benchmarks which run it on the JVM.
+ *
+ *     The history is read by key: a page is the moods after the day of the last mood of the previous page,
+ *     read on the unique index of the dates, so reading a page does not depend on the number of moods before it.
+ *     See {@link MoodPageKeys}.
+ *
+ *     The repository is not thread-safe: like its compiled statements and its keys,
+ *     it is only used by the background thread of the {@link MoodLoader}.
+ *
+ *     Implement the interface {@link MoodRepository}
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodDatabaseHelper
+ * @see MoodSchema
+ * @see MoodRepository
+ * @see MoodPageKeys
+ */
+public class SqliteMoodRepository implements MoodRepository {
+
+    // FOR DATA
+    /**
+     * Database of the moods
+     */
+    private final SQLiteDatabase db;
+    /**
+     * Compiled statement adding a mood
+     *
+     * @see SqliteMoodRepository#insert(Mood)
+     */
+    private final SQLiteStatement insertStatement;
+    /**
+     * Compiled statement replacing the temporary mood
+     *
+     * @see SqliteMoodRepository#writePending(Mood)
+     */
+    private final SQLiteStatement pendingStatement;
+    /**
+     * Compiled statement counting the moods
+     *
+     * @see SqliteMoodRepository#getCount()
+     */
+    private final SQLiteStatement countStatement;
+    /**
+     * Compiled statement counting the moods of a level between two dates
+     *
+     * @see SqliteMoodRepository#count(MoodLevel, int, int)
+     */
+    private final SQLiteStatement rangeCountStatement;
+    /**
+     * Compiled statement deleting the temporary mood
+     *
+     * @see SqliteMoodRepository#commitPending(Mood)
+     */
+    private final SQLiteStatement clearPendingStatement;
+    /**
+     * Day before the positions of the pages read, cleared when moods are written
+     *
+     * @see SqliteMoodRepository#loadPage(int, int)
+     */
+    private final MoodPageKeys pageKeys = new MoodPageKeys();
+
+    /**
+     * Constructor, open the database of the application
+     *
+     * @param context
+     *      context of the application
+     */
+    public SqliteMoodRepository(Context context) {
+        this(new MoodDatabaseHelper(context).getWritableDatabase());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param db
+     *      database of the moods, created by {@link MoodDatabaseHelper}
+     */
+    public SqliteMoodRepository(SQLiteDatabase db) {
+        this.db = db;
+        this.insertStatement = db.compileStatement(MoodSchema.INSERT_MOOD);
+        this.pendingStatement = db.compileStatement(MoodSchema.WRITE_PENDING);
+        this.countStatement = db.compileStatement(MoodSchema.COUNT_MOODS);
+        this.rangeCountStatement = db.compileStatement(MoodSchema.COUNT_LEVEL_BETWEEN);
+        this.clearPendingStatement = db.compileStatement(MoodSchema.CLEAR_PENDING);
+    }
+
+    //----------------------//
+    //READ DATA
+    //----------------------//
+
+    /**
+     * Return the number of moods stored
+     *
+     * @return
+     *      number of moods
+     */
+    @Override
+    public int getCount() {
+        return (int) countStatement.simpleQueryForLong();
+    }
+
+    /**
+     * Load a page of moods, from the day before its position
+     * <p>
+     *     When the previous page has been read, the page is read directly from its key.
+     *     Otherwise the moods between the nearest key known and the page are skipped on the index
+     * </p>
+     *
+     * @param start
+     *      position of the first mood of the page, from the oldest to the newest
+     * @param count
+     *      number of moods of the page
+     * @return
+     *      the moods of the page
+     *
+     * @see MoodPageKeys
+     * @see MoodSchema#SELECT_PAGE
+     */
+    @Override
+    public List<Mood> loadPage(int start, int count) {
+        int keyPosition = pageKeys.getKeyPosition(start);
+        Cursor cursor = db.rawQuery(MoodSchema.SELECT_PAGE, new String[]{
+                String.valueOf(pageKeys.getDayBefore(keyPosition)),
+                String.valueOf(start - keyPosition),
+                String.valueOf(count)});
+        List<Mood> page = readMoods(cursor);
+        pageKeys.addPage(start, page);
+        return page;
+    }
+
+    /**
+     * Return the number of moods of a level entered between two dates, counted on the index
+     *
+     * @param level
+     *      level of the moods
+     * @param fromDay
+     *      first day in epoch-day, included
+     * @param toDay
+     *      last day in epoch-day, included
+     * @return
+     *      number of moods
+     */
+    @Override
+    public int count(MoodLevel level, int fromDay, int toDay) {
+        rangeCountStatement.bindLong(1, fromDay);
+        rangeCountStatement.bindLong(2, toDay);
+        rangeCountStatement.bindLong(3, level.ordinal());
+        return (int) rangeCountStatement.simpleQueryForLong();
+    }
+
+    /**
+     * Add all the moods stored to a bank, from the oldest to the newest
+     * <p>
+     *     The rows are read one by one, no list of all the moods is created
+     * </p>
+     *
+     * @param bank
+     *      bank in which the moods are added
+     */
+    @Override
+    public void loadInto(MoodBank bank) {
+        Cursor cursor = db.rawQuery(MoodSchema.SELECT_ALL, null);
+        try {
+            while (cursor.moveToNext()) {
+                bank.addMood(readMood(cursor));
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Return the temporary mood
+     *
+     * @return
+     *      the temporary mood, null if there is none
+     */
+    @Override
+    public Mood readPending() {
+        Cursor cursor = db.query(TABLE_PENDING, MOOD_COLUMNS, null, null, null, null, null);
+        try {
+            return cursor.moveToFirst() ? readMood(cursor) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    //----------------------//
+    //WRITE DATA
+    //----------------------//
+
+    /**
+     * Store a mood, it replaces the mood of the same day
+     *
+     * @param mood
+     *      mood to store
+     */
+    @Override
+    public void insert(Mood mood) {
+        pageKeys.clear();
+        bindMood(insertStatement, mood);
+        insertStatement.executeInsert();
+    }
+
+    /**
+     * Store a list of moods, in a single transaction
+     *
+     * @param moods
+     *      moods to store, from the oldest to the newest, a mood replaces the previous one of the same day
+     */
+    @Override
+    public void insertAll(List<Mood> moods) {
+        pageKeys.clear();
+        db.beginTransaction();
+        try {
+            for (Mood mood : moods) {
+                bindMood(insertStatement, mood);
+                insertStatement.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Replace the temporary mood
+     *
+     * @param mood
+     *      new temporary mood
+     */
+    @Override
+    public void writePending(Mood mood) {
+        bindMood(pendingStatement, mood);
+        pendingStatement.executeInsert();
+    }
+
+    /**
+     * Store the temporary mood with the others and delete it, in a single transaction
+     * <p>
+     *     If the process dies before the end, the transaction is rolled back and the mood is still the temporary one
+     * </p>
+     *
+     * @param mood
+     *      temporary mood of a previous day
+     */
+    @Override
+    public void commitPending(Mood mood) {
+        pageKeys.clear();
+        db.beginTransaction();
+        try {
+            bindMood(insertStatement, mood);
+            insertStatement.executeInsert();
+            clearPendingStatement.executeUpdateDelete();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Read all the rows of a cursor then close it
+     *
+     * @param cursor
+     *      cursor on the columns {@link MoodSchema#MOOD_COLUMNS}
+     * @return
+     *      the moods of the rows
+     */
+    private static List<Mood> readMoods(Cursor cursor) {
+        try {
+            List<Mood> moods = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                moods.add(readMood(cursor));
+            }
+            return moods;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Create a mood from the current row of a cursor
+     *
+     * @param cursor
+     *      cursor on the columns {@link MoodSchema#MOOD_COLUMNS}
+     * @return
+     *      the mood of the row
+     */
+    private static Mood readMood(Cursor cursor) {
+        return new Mood(MoodLevel.fromOrdinal(cursor.getInt(0)), cursor.getInt(1), cursor.getString(2));
+    }
+
+    /**
+     * Bind the date, the level and the comment of a mood to a statement
+     *
+     * @param statement
+     *      statement with the parameters date, level and comment
+     * @param mood
+     *      mood to bind
+     */
+    private static void bindMood(SQLiteStatement statement, Mood mood) {
+        statement.clearBindings();
+        statement.bindLong(1, mood.getEpochDay());
+        statement.bindLong(2, mood.getLevel().ordinal());
+        statement.bindString(3, mood.getComment() != null ? mood.getComment() : "");
+    }
+}
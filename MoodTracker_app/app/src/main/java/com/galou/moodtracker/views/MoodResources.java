@@ -0,0 +1,162 @@
+package com.galou.moodtracker.views;
+
+import android.content.res.Resources;
+
+import com.galou.moodtracker.R;
+import com.galou.moodtracker.models.EpochDay;
+import com.galou.moodtracker.models.Mood;
+import com.galou.moodtracker.models.MoodDateLabels;
+import com.galou.moodtracker.models.MoodLevel;
+import com.galou.moodtracker.models.NumberToWords;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * <b>
+ *     Resources used to display the moods
+ * </b>
+ * <p>
+ *     The models do not depend on Android, the resources of the levels are kept here,
+ *     indexed by the ordinal of the levels:
+ *     <li>a drawable</li>
+ *     <li>a color</li>
+ *     <li>a label</li>
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodLevel
+ */
+public final class MoodResources {
+
+    /**
+     * Drawables of the levels, indexed by their ordinal
+     */
+    private static final int[] DRAWABLES = {
+            R.drawable.smiley_sad,
+            R.drawable.smiley_disappointed,
+            R.drawable.smiley_normal,
+            R.drawable.smiley_happy,
+            R.drawable.smiley_super_happy
+    };
+    /**
+     * Color resources of the levels, indexed by their ordinal
+     */
+    private static final int[] COLORS = {
+            R.color.faded_red,
+            R.color.warm_grey,
+            R.color.cornflower_blue_65,
+            R.color.light_sage,
+            R.color.banana_yellow
+    };
+    /**
+     * String resources of the level names, indexed by their ordinal
+     */
+    private static final int[] LABELS = {
+            R.string.mood_to_string_sad,
+            R.string.mood_to_string_disappointed,
+            R.string.mood_to_string_normal,
+            R.string.mood_to_string_happy,
+            R.string.mood_to_string_super_happy
+    };
+
+    /**
+     * Constructor, the class only contains static methods
+     */
+    private MoodResources() {
+    }
+
+    //----------------------//
+    //LEVELS
+    //----------------------//
+
+    /**
+     * Return the drawables of all the levels
+     *
+     * @return
+     *      the drawables indexed by the ordinal of the levels
+     */
+    public static int[] drawables() {
+        return DRAWABLES.clone();
+    }
+
+    /**
+     * Resolve the colors of all the levels
+     *
+     * @param res
+     *      project resources
+     * @return
+     *      the colors indexed by the ordinal of the levels
+     */
+    public static int[] resolveColors(Resources res) {
+        int[] colors = new int[MoodLevel.COUNT];
+        for (int i = 0; i < MoodLevel.COUNT; i++) {
+            colors[i] = res.getColor(COLORS[i]);
+        }
+        return colors;
+    }
+
+    /**
+     * Return the name of a level
+     *
+     * @param level
+     *      level of a mood
+     * @return
+     *      string resource of the name
+     */
+    public static int getLabel(MoodLevel level) {
+        return LABELS[level.ordinal()];
+    }
+
+    //----------------------//
+    //TEXTS
+    //----------------------//
+
+    /**
+     * Return a mood in string, to share it
+     * <p>
+     *     Convert mood into words
+     * </p>
+     *
+     * @param mood
+     *      mood to convert
+     * @param res
+     *      project resources
+     * @return
+     *      Mood in string
+     */
+    public static String toString(Mood mood, Resources res) {
+
+        String moodInString = res.getString(getLabel(mood.getLevel()));
+
+        SimpleDateFormat simpleFormat = new SimpleDateFormat(
+                res.getString(R.string.format_diplsay_date), Locale.CANADA);
+        String formattedDate = simpleFormat.format(new Date(EpochDay.toMillis(mood.getEpochDay())));
+
+        return String.format(res.getString(R.string.i_was_on_mood_to_string),
+                moodInString, formattedDate, mood.getComment());
+    }
+
+    /**
+     * Build the texts of the dates of the moods from the resources, in the language of their locale
+     *
+     * @param res
+     *      project resources
+     * @return
+     *      the texts shared by the ViewHolders of a list
+     *
+     * @see NumberToWords#forLocale(java.util.Locale)
+     */
+    public static MoodDateLabels dateLabels(Resources res) {
+        return new MoodDateLabels(NumberToWords.forLocale(res.getConfiguration().locale),
+                res.getString(R.string.text_view_feeling_month),
+                res.getString(R.string.text_view_feeling_week),
+                res.getString(R.string.text_view_feeling_weeks),
+                res.getString(R.string.text_view_feeling_days),
+                res.getString(R.string.text_view_feeling_yesterday),
+                res.getString(R.string.text_view_feeling_two_days_ago));
+    }
+}
@@ -1,24 +1,20 @@
 package com.galou.moodtracker.views;
 
-import android.content.Context;
+import android.content.res.ColorStateList;
 import android.content.res.Resources;
 import android.support.v7.widget.CardView;
 import android.support.v7.widget.RecyclerView;
-import android.util.Log;
 import android.view.View;
 import android.widget.ImageButton;
 import android.widget.TextView;
 
 import com.galou.moodtracker.R;
-import com.galou.moodtracker.controllers.adapter.MoodAdapter;
+import com.galou.moodtracker.controllers.adapter.PagedMoodAdapter;
 import com.galou.moodtracker.models.Mood;
-import com.galou.moodtracker.models.NumberToWords;
+import com.galou.moodtracker.models.MoodDateLabels;
+import com.galou.moodtracker.models.MoodLevel;
 
 import java.lang.ref.WeakReference;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
@@ -38,6 +34,9 @@ import butterknife.ButterKnife;
  *     <li>the comment button if it has a comment</li>
  *     <li>display the date in a TextView</li>
  *
+ *     Everything a bind needs is prepared in the constructor: the colors, the widths, the listeners
+ *     and the texts of the dates, so binding a mood does not allocate anything.
+ *
  *     A {@link android.support.v7.widget.RecyclerView.ViewHolder} subclass
  *     Implements a OnClickListener interface for the views.
  * </p>
@@ -46,6 +45,7 @@ import butterknife.ButterKnife;
  * @version 1.0
  *
  * @see Mood
+ * @see MoodDateLabels
  */
 public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
 
@@ -56,7 +56,7 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
      * </p>
      *
      * @see Mood
-     * @see MoodViewHolder#setDateText(Calendar, Context)
+     * @see MoodViewHolder#setDateText(int)
      */
     @BindView(R.id.fragment_history_item_text) TextView textView;
     /**
@@ -65,7 +65,7 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
      *     Use the Butter Knife library to bind the view in the activity
      * </p>
      *
-     * @see MoodViewHolder#updateWithMood(Mood, MoodAdapter.Listener, Context)
+     * @see MoodViewHolder#updateWithMood(Mood)
      */
     @BindView(R.id.fragment_history_item_card_view) CardView cardView;
     /**
@@ -75,7 +75,7 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
      *     Use the Butter Knife library to bind the view in the activity
      * </p>
      *
-     * @see MoodViewHolder#setCommentButton(String, MoodAdapter.Listener)
+     * @see MoodViewHolder#setCommentButton(String)
      */
     @BindView(R.id.fragment_history_item_comment_button) ImageButton commentButton;
     /**
@@ -84,7 +84,7 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
      *     Allow the user to share the selected mood
      * </p>
      *
-     * @see MoodViewHolder#setCommentButton(String, MoodAdapter.Listener)
+     * @see MoodViewHolder#onClick(View)
      */
     @BindView(R.id.fragment_history_item_share_button) ImageButton shareButton;
 
@@ -92,10 +92,35 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
     /**
      * Width of the screen used to adapt the width of the CardView
      *
-     * @see MoodViewHolder#setSizeCardViewForMood(int)
-     * @see MoodViewHolder#MoodViewHolder(View, float)
+     * @see MoodViewHolder#MoodViewHolder(View, float, PagedMoodAdapter.Listener, MoodDateLabels)
+     */
+    private final float widthScreen;
+    /**
+     * Background of each mood level, indexed by the ordinal of the level
+     *
+     * @see MoodResources#resolveColors(Resources)
+     * @see MoodViewHolder#updateWithMood(Mood)
      */
-    private float widthScreen;
+    private final ColorStateList[] levelColors;
+    /**
+     * Width of the CardView of each mood level, indexed by the ordinal of the level
+     *
+     * @see MoodLevel#getWidthRatio()
+     * @see MoodViewHolder#setSizeCardView(int)
+     */
+    private final int[] levelWidths;
+    /**
+     * Background of the CardView while its mood is read
+     *
+     * @see MoodViewHolder#showPlaceholder()
+     */
+    private final ColorStateList placeholderColor;
+    /**
+     * Texts of the dates, shared by all the ViewHolders of the RecyclerView
+     *
+     * @see MoodViewHolder#setDateText(int)
+     */
+    private final MoodDateLabels dateLabels;
     /**
      * Callback to the Fragment that will handle the action when the user click on a button
      * <p>
@@ -104,26 +129,57 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
      *
      * @see com.galou.moodtracker.controllers.fragments.HistoryFragment#onClickCommentButton(int)
      */
-    private WeakReference<MoodAdapter.Listener> callbackWeakReference;
+    private final WeakReference<PagedMoodAdapter.Listener> callbackWeakReference;
+    /**
+     * Background currently displayed, the CardView is only updated when it changes
+     */
+    private ColorStateList boundColor;
+    /**
+     * Text currently displayed, the TextView is only updated when it changes
+     */
+    private String boundLabel;
 
     /**
      * Constructor
      * <p>
-     *     Get width and height of the screen
      *     Bind the views with Butter Knife
+     *     Resolve the colors and the widths of the mood levels and of the placeholder
+     *     Set the listeners of the buttons
      * </p>
      *
      * @param itemView
      *      Items of the view
      * @param widthScreen
      *      width of the screen
+     * @param callback
+     *      callback to the fragment
+     * @param dateLabels
+     *      texts of the dates shared by the ViewHolders
      *
      * @see MoodViewHolder#widthScreen
+     * @see MoodViewHolder#levelColors
+     * @see MoodViewHolder#levelWidths
+     * @see MoodViewHolder#placeholderColor
+     * @see MoodViewHolder#callbackWeakReference
      */
-    public MoodViewHolder(View itemView, float widthScreen) {
+    public MoodViewHolder(View itemView, float widthScreen, PagedMoodAdapter.Listener callback, MoodDateLabels dateLabels) {
         super(itemView);
         ButterKnife.bind(this, itemView);
         this.widthScreen = widthScreen;
+        this.dateLabels = dateLabels;
+
+        int[] colors = MoodResources.resolveColors(itemView.getResources());
+        this.levelColors = new ColorStateList[MoodLevel.COUNT];
+        this.levelWidths = new int[MoodLevel.COUNT];
+        for (int i = 0; i < MoodLevel.COUNT; i++) {
+            this.levelColors[i] = ColorStateList.valueOf(colors[i]);
+            this.levelWidths[i] = (int) (widthScreen * MoodLevel.fromOrdinal(i).getWidthRatio());
+        }
+        this.placeholderColor = ColorStateList.valueOf(itemView.getResources().getColor(R.color.placeholder_grey));
+
+        this.callbackWeakReference = new WeakReference<>(callback);
+        this.commentButton.setOnClickListener(this);
+        this.shareButton.setOnClickListener(this);
 
     }
 
@@ -136,196 +192,119 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
      * <p>
      *     <li>set the background color of the CardView</li>
      *     <li>set the size of the CardView</li>
-     *     <li>set the comment button behavior</li>
+     *     <li>set the comment button visibility</li>
      *     <li>set the mood date text</li>
      * </p>
      * @param mood
      *      Mood display by this item
-     * @param callback
-     *      callback to the fragment
-     * @param context
-     *      context of the RecyclerView
      *
      * @see Mood
-     * @see MoodViewHolder#callbackWeakReference
-     * @see MoodViewHolder#widthScreen
-     * @see MoodViewHolder#setSizeCardViewForMood(int)
-     * @see MoodViewHolder#setCommentButton(String, MoodAdapter.Listener)
-     * @see MoodViewHolder#setDateText(Calendar, Context)
+     * @see MoodViewHolder#levelColors
+     * @see MoodViewHolder#setSizeCardView(int)
+     * @see MoodViewHolder#setCommentButton(String)
+     * @see MoodViewHolder#setDateText(int)
      */
-    public void updateWithMood(Mood mood, MoodAdapter.Listener callback, Context context) {
-        this.cardView.setCardBackgroundColor(mood.getColor());
-
-        // set size cardView
-        RecyclerView.LayoutParams layoutParams = (RecyclerView.LayoutParams) cardView.getLayoutParams();
-        layoutParams.width = (int) this.setSizeCardViewForMood(mood.getMood());
+    public void updateWithMood(Mood mood) {
+        int level = mood.getLevel().ordinal();
+        this.setCardColor(this.levelColors[level]);
+        this.setSizeCardView(this.levelWidths[level]);
 
         //set buttons
-        this.setCommentButton(mood.getComment(), callback);
-        this.shareButton.setOnClickListener(this);
-        this.callbackWeakReference = new WeakReference<MoodAdapter.Listener>(callback);
+        this.setCommentButton(mood.getComment());
+        this.shareButton.setVisibility(View.VISIBLE);
 
         //set text date
-        textView.setText(this.setDateText(mood.getDate(), context));
+        this.setDateText(mood.getEpochDay());
 
     }
 
     /**
-     * Set the Size of the CardView depending on the size of the screen and the type of Mood
+     * Display an empty CardView while the mood of this item is read
+     * <p>
+     *     <li>set the background color of the placeholder</li>
+     *     <li>use the whole width of the screen</li>
+     *     <li>hide the text and the buttons</li>
+     * </p>
      *
-     * @param moodType
-     *      type of mood
+     * @see com.galou.moodtracker.controllers.adapter.PagedMoodAdapter
+     */
+    public void showPlaceholder() {
+        this.setCardColor(this.placeholderColor);
+        this.setSizeCardView((int) this.widthScreen);
+        this.commentButton.setVisibility(View.INVISIBLE);
+        this.shareButton.setVisibility(View.INVISIBLE);
+        this.boundLabel = null;
+        this.textView.setText(null);
+    }
+
+    /**
+     * Set the background of the CardView, if it is not the one displayed
      *
-     * @return
-     *      width of the cardView
+     * @param color
+     *      background of the CardView
      *
-     * @see MoodViewHolder#updateWithMood(Mood, MoodAdapter.Listener, Context)
-     * @see MoodViewHolder#widthScreen
-     * @see Mood
+     * @see MoodViewHolder#boundColor
      */
-    private double setSizeCardViewForMood(int moodType){
-        double ratio = 1;
-        switch (moodType){
-            case R.drawable.smiley_super_happy:
-                ratio = widthScreen;
-                break;
-            case R.drawable.smiley_happy:
-                ratio = widthScreen * 0.8;
-                break;
-            case R.drawable.smiley_normal:
-                ratio = widthScreen * 0.6;
-                break;
-            case R.drawable.smiley_disappointed:
-                ratio = widthScreen * 0.4;
-                break;
-            case R.drawable.smiley_sad:
-                ratio = widthScreen * 0.2;
-                break;
+    private void setCardColor(ColorStateList color) {
+        if (color != this.boundColor) {
+            this.cardView.setCardBackgroundColor(color);
+            this.boundColor = color;
         }
-        return ratio;
     }
 
     /**
-     * Display comment button is the mood contains a comment and create callback to fragment
+     * Set the Size of the CardView
+     *
+     * @param width
+     *      width of the cardView
+     *
+     * @see MoodViewHolder#levelWidths
+     */
+    private void setSizeCardView(int width){
+        RecyclerView.LayoutParams layoutParams = (RecyclerView.LayoutParams) cardView.getLayoutParams();
+        layoutParams.width = width;
+    }
+
+    /**
+     * Display comment button is the mood contains a comment
      *
      * @param comment
      *      comment of the mood
-     * @param callback
-     *      on click listener on the comment button
      *
      * @see MoodViewHolder#commentButton
-     * @see MoodViewHolder#callbackWeakReference
      * @see MoodViewHolder#onClick(View)
-     * @see MoodViewHolder#updateWithMood(Mood, MoodAdapter.Listener, Context)
      * @see Mood
      */
-    private void setCommentButton(String comment, MoodAdapter.Listener callback){
-        this.commentButton.setOnClickListener(this);
-        if (comment.isEmpty()) {
-            commentButton.setVisibility(View.INVISIBLE);
-        }
+    private void setCommentButton(String comment){
+        commentButton.setVisibility(comment.isEmpty() ? View.INVISIBLE : View.VISIBLE);
 
     }
 
     /**
      * Set the Date text
      * <p>
-     *     Calculate the number of days elapsed since the date of the mood and set the text accordingly
-     *     Display number in words
+     *     The text tells the number of days or of weeks elapsed since the date of the mood,
+     *     it is read from the texts built once and only set if it changed
      * </p>
-     * @param date
-     *      date of the mood
-     * @param context
-     *      context of the Recycler view, used to get the Resources
-     * @return
-     *      String of the text to display
-     *
-     * @see Mood
-     * @see MoodViewHolder#updateWithMood(Mood, MoodAdapter.Listener, Context)
-     * @see NumberToWords
-     * @see MoodViewHolder#getDayInWeek(long)
-     * @see MoodViewHolder#getCalInMilli(Calendar)
-     *
+     * @param epochDay
+     *      date of the mood in epoch-day
      *
+     * @see MoodDateLabels#getLabel(int)
+     * @see MoodViewHolder#boundLabel
      */
-    private String setDateText(Calendar date, Context context){
-        Resources resources = context.getResources();
-        Calendar todayDate = Calendar.getInstance();
-        long todayDateMilli = getCalInMilli(todayDate);
-        long dateInMilli = getCalInMilli(date);
-        long daySinceMood = TimeUnit.MILLISECONDS.toDays(Math.abs(todayDateMilli - dateInMilli));
-
-        String textToDisplay;
-
-        if(daySinceMood >= 31){
-            textToDisplay = resources.getString(R.string.text_view_feeling_month);
-        } else {
-            if(daySinceMood >= 7){
-                int weekSinceMood = getDayInWeek(daySinceMood);
-                if(weekSinceMood == 1){
-                    textToDisplay = String.format(resources.getString(R.string.text_view_feeling_week), NumberToWords.convert(weekSinceMood));
-                } else {
-                    textToDisplay = String.format(resources.getString(R.string.text_view_feeling_weeks), NumberToWords.convert(weekSinceMood));
-                }
-            } else {
-                if(daySinceMood <= 1){
-                    textToDisplay = resources.getString(R.string.text_view_feeling_yesterday);
-                }
-                else if(daySinceMood == 2){
-                    textToDisplay = resources.getString(R.string.text_view_feeling_two_days_ago);
-                } else {
-                    textToDisplay = String.format(resources.getString(R.string.text_view_feeling_days), NumberToWords.convert(daySinceMood));
-                }
-            }
+    private void setDateText(int epochDay){
+        String label = this.dateLabels.getLabel(epochDay);
+        if (label != this.boundLabel) {
+            this.textView.setText(label);
+            this.boundLabel = label;
         }
 
-        return textToDisplay;
-
     }
 
     //----------------------//
-    //UTILS
+    //ACTIONS
     //----------------------//
 
-    /**
-     * Convert a Calendar Object in Milliseconds
-     * <p>
-     *     Set all time to 0 to only compare dates
-     *     Return a long, the time in milliseconds
-     * </p>
-     * @param date
-     *      date to be converted
-     *
-     * @return
-     *      date in milliseconds
-     */
-    private long getCalInMilli(Calendar date){
-        date.set(Calendar.HOUR_OF_DAY, 0);
-        date.set(Calendar.MINUTE, 0);
-        date.set(Calendar.SECOND, 0);
-        date.set(Calendar.MILLISECOND, 0);
-        date.setTimeZone(TimeZone.getTimeZone("PST"));
-
-        return date.getTimeInMillis();
-    }
-
-    /**
-     * Convert days in week
-     * @param days
-     *      number of days
-     * @return
-     *      number of weeks
-     */
-    private int getDayInWeek(long days){
-        int week = 0;
-        while (days >= 7) {
-            days -= 7;
-            week += 1;
-        }
-        return week;
-    }
-
-
     /**
      * Action executed when user click on a button
      * @param v
@@ -333,7 +312,7 @@ public class MoodViewHolder extends RecyclerView.ViewHolder implements View.OnCl
      */
     @Override
     public void onClick(View v) {
-        MoodAdapter.Listener callback = callbackWeakReference.get();
+        PagedMoodAdapter.Listener callback = callbackWeakReference.get();
         if(callback != null) {
             if(v == shareButton){
                 callback.onClickShareButton(getAdapterPosition());
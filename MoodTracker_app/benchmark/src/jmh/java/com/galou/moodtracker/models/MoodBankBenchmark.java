@@ -0,0 +1,86 @@
+package com.galou.moodtracker.models;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link MoodBank}: filling a bank, and saving and loading it in JSON as in the SharedPreferences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoodBankBenchmark {
+
+    /**
+     * Number of moods in the bank: a week, a few years, and far more than a user will enter
+     */
+    @Param({"8", "1000", "100000"})
+    public int size;
+
+    private final Gson gson = MoodGson.get();
+
+    private List<Mood> moods;
+    private MoodBank bank;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        moods = createMoods(size);
+        bank = fill(new MoodBank(size), moods);
+        json = gson.toJson(bank);
+    }
+
+    @Benchmark
+    public MoodBank addMoods() {
+        return fill(new MoodBank(size), moods);
+    }
+
+    @Benchmark
+    public String saveJson() {
+        return gson.toJson(bank);
+    }
+
+    @Benchmark
+    public MoodBank loadJson() {
+        return gson.fromJson(json, MoodBank.class);
+    }
+
+    @Benchmark
+    public int countLastMonth() {
+        return bank.getNb(MoodLevel.HAPPY, MoodWindow.LAST_30_DAYS);
+    }
+
+    static MoodBank fill(MoodBank bank, List<Mood> moods) {
+        for (Mood mood : moods) {
+            bank.addMood(mood);
+        }
+        return bank;
+    }
+
+    /**
+     * Create moods on consecutive days until today, one out of three with a comment
+     */
+    static List<Mood> createMoods(int size) {
+        Random random = new Random(42);
+        int firstDay = EpochDay.today() - size;
+        List<Mood> moods = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String comment = i % 3 == 0 ? "Comment of the mood " + i : null;
+            moods.add(new Mood(MoodLevel.fromOrdinal(random.nextInt(MoodLevel.COUNT)), firstDay + i, comment));
+        }
+        return moods;
+    }
+}
@@ -0,0 +1,52 @@
+package com.galou.moodtracker.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link MoodDateLabels}: building the texts when a list is created,
+ * and reading the text of the moods of a history of 100 days when they are bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoodDateLabelsBenchmark {
+
+    private static final int DAYS = 100;
+
+    private MoodDateLabels labels;
+    private int today;
+
+    @Setup
+    public void setUp() {
+        labels = build();
+        today = EpochDay.today();
+    }
+
+    @Benchmark
+    public MoodDateLabels buildLabels() {
+        return build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void getLabels(Blackhole blackhole) {
+        for (int day = today - DAYS; day < today; day++) {
+            blackhole.consume(labels.getLabel(day));
+        }
+    }
+
+    private static MoodDateLabels build() {
+        return new MoodDateLabels(FrenchNumberSpeller.INSTANCE, "Il y a plus d'un mois", "Il y a %se semaine",
+                "Il y a %s semaines", "Il y a %s jours", "Hier", "Avant-hier");
+    }
+}
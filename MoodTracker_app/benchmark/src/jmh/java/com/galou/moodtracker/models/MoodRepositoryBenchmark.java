@@ -0,0 +1,168 @@
+package com.galou.moodtracker.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the SQL of the {@code SqliteMoodRepository}, run on the JVM with the statements of {@link MoodSchema}:
+ * scrolling the whole history page by page, by key and by offset, loading the moods in a bank, and counting a level.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoodRepositoryBenchmark {
+
+    /**
+     * Pages read before the keys, as the history did before
+     */
+    private static final String SELECT_PAGE_BY_OFFSET = "SELECT " + MoodSchema.COLUMN_LEVEL + ", "
+            + MoodSchema.COLUMN_EPOCH_DAY + ", " + MoodSchema.COLUMN_COMMENT + " FROM " + MoodSchema.TABLE_MOODS
+            + " ORDER BY " + MoodSchema.COLUMN_EPOCH_DAY + ", " + MoodSchema.COLUMN_ID + " LIMIT ?, ?";
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"30"})
+    public int pageSize;
+
+    private File databaseFile;
+    private Connection connection;
+    private PreparedStatement pageStatement;
+    private PreparedStatement offsetPageStatement;
+    private PreparedStatement allStatement;
+    private PreparedStatement countStatement;
+    private int lastDay;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        List<Mood> moods = MoodBankBenchmark.createMoods(size);
+        lastDay = moods.get(moods.size() - 1).getEpochDay();
+        databaseFile = File.createTempFile("moods", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        Statement statement = connection.createStatement();
+        try {
+            for (String create : MoodSchema.CREATE_STATEMENTS) {
+                statement.execute(create);
+            }
+        } finally {
+            statement.close();
+        }
+        insertAll(moods);
+        pageStatement = connection.prepareStatement(MoodSchema.SELECT_PAGE);
+        offsetPageStatement = connection.prepareStatement(SELECT_PAGE_BY_OFFSET);
+        allStatement = connection.prepareStatement(MoodSchema.SELECT_ALL);
+        countStatement = connection.prepareStatement(MoodSchema.COUNT_LEVEL_BETWEEN);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        databaseFile.delete();
+    }
+
+    @Benchmark
+    public int scrollHistory() throws SQLException {
+        MoodPageKeys pageKeys = new MoodPageKeys();
+        int read = 0;
+        for (int start = 0; start < size; start += pageSize) {
+            int keyPosition = pageKeys.getKeyPosition(start);
+            pageStatement.setInt(1, pageKeys.getDayBefore(keyPosition));
+            pageStatement.setInt(2, start - keyPosition);
+            pageStatement.setInt(3, pageSize);
+            List<Mood> page = readMoods(pageStatement.executeQuery());
+            pageKeys.addPage(start, page);
+            read += page.size();
+        }
+        return read;
+    }
+
+    @Benchmark
+    public int scrollHistoryByOffset() throws SQLException {
+        int read = 0;
+        for (int start = 0; start < size; start += pageSize) {
+            offsetPageStatement.setInt(1, start);
+            offsetPageStatement.setInt(2, pageSize);
+            read += readMoods(offsetPageStatement.executeQuery()).size();
+        }
+        return read;
+    }
+
+    @Benchmark
+    public MoodBank loadIntoBank() throws SQLException {
+        MoodBank bank = new MoodBank();
+        ResultSet rows = allStatement.executeQuery();
+        try {
+            while (rows.next()) {
+                bank.addMood(readMood(rows));
+            }
+        } finally {
+            rows.close();
+        }
+        return bank;
+    }
+
+    @Benchmark
+    public int countLevelOfLastMonth() throws SQLException {
+        countStatement.setInt(1, lastDay - 30);
+        countStatement.setInt(2, lastDay);
+        countStatement.setInt(3, MoodLevel.HAPPY.ordinal());
+        ResultSet rows = countStatement.executeQuery();
+        try {
+            return rows.next() ? rows.getInt(1) : 0;
+        } finally {
+            rows.close();
+        }
+    }
+
+    private void insertAll(List<Mood> moods) throws SQLException {
+        connection.setAutoCommit(false);
+        PreparedStatement insert = connection.prepareStatement(MoodSchema.INSERT_MOOD);
+        try {
+            for (Mood mood : moods) {
+                insert.setInt(1, mood.getEpochDay());
+                insert.setInt(2, mood.getLevel().ordinal());
+                insert.setString(3, mood.getComment() != null ? mood.getComment() : "");
+                insert.executeUpdate();
+            }
+            connection.commit();
+        } finally {
+            insert.close();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static List<Mood> readMoods(ResultSet rows) throws SQLException {
+        try {
+            List<Mood> moods = new ArrayList<>();
+            while (rows.next()) {
+                moods.add(readMood(rows));
+            }
+            return moods;
+        } finally {
+            rows.close();
+        }
+    }
+
+    private static Mood readMood(ResultSet rows) throws SQLException {
+        return new Mood(MoodLevel.fromOrdinal(rows.getInt(1)), rows.getInt(2), rows.getString(3));
+    }
+}
@@ -0,0 +1,88 @@
+package com.galou.moodtracker.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the spellers against the first conversion, {@link LegacyNumberToWords}, on the same numbers:
+ * the small numbers displayed in the history, and random numbers up to the largest one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NumberSpellerBenchmark {
+
+    private static final int NUMBERS = 1024;
+
+    private final long[] smallNumbers = new long[NUMBERS];
+    private final long[] largeNumbers = new long[NUMBERS];
+    private final StringBuilder builder = new StringBuilder(128);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < NUMBERS; i++) {
+            smallNumbers[i] = random.nextInt(32);
+            largeNumbers[i] = (long) (random.nextDouble() * NumberSpeller.MAX_NUMBER);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public void legacySmall(Blackhole blackhole) {
+        for (long number : smallNumbers) {
+            blackhole.consume(LegacyNumberToWords.convert(number));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public void frenchSmall(Blackhole blackhole) {
+        for (long number : smallNumbers) {
+            blackhole.consume(FrenchNumberSpeller.INSTANCE.spell(number));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public void legacyLarge(Blackhole blackhole) {
+        for (long number : largeNumbers) {
+            blackhole.consume(LegacyNumberToWords.convert(number));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public void frenchLarge(Blackhole blackhole) {
+        for (long number : largeNumbers) {
+            blackhole.consume(FrenchNumberSpeller.INSTANCE.spell(number));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public void frenchLargeAppend(Blackhole blackhole) {
+        for (long number : largeNumbers) {
+            builder.setLength(0);
+            blackhole.consume(FrenchNumberSpeller.INSTANCE.appendTo(builder, number).length());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBERS)
+    public void englishLarge(Blackhole blackhole) {
+        for (long number : largeNumbers) {
+            blackhole.consume(EnglishNumberSpeller.INSTANCE.spell(number));
+        }
+    }
+}
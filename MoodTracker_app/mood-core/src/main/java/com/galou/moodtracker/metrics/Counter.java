@@ -0,0 +1,67 @@
+package com.galou.moodtracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>
+ *     A number of events, or a quantity added by several events
+ * </b>
+ * <p>
+ *     Updated without lock from any thread, nothing is allocated
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MetricsRegistry#counter(String)
+ */
+public final class Counter {
+
+    // FOR DATA
+    /**
+     * Value counted since the last export
+     */
+    private final AtomicLong value = new AtomicLong();
+
+    /**
+     * Constructor, use {@link MetricsRegistry#counter(String)}
+     */
+    Counter() {
+    }
+
+    /**
+     * Count one event
+     */
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    /**
+     * Add a quantity to the counter
+     *
+     * @param delta
+     *      quantity to add
+     */
+    public void add(long delta) {
+        value.addAndGet(delta);
+    }
+
+    /**
+     * Return the value counted since the last export
+     * @return
+     *      the value of the counter
+     */
+    public long get() {
+        return value.get();
+    }
+
+    /**
+     * Remove the value written by an export, the events counted meanwhile are kept for the next one
+     *
+     * @param exported
+     *      value written by the export
+     */
+    void subtract(long exported) {
+        value.addAndGet(-exported);
+    }
+}
@@ -0,0 +1,172 @@
+package com.galou.moodtracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <b>
+ *     Distribution of values in fixed buckets
+ * </b>
+ * <p>
+ *     Each bucket counts the values lower than or equal to its bound and greater than the bound of the previous one,
+ *     the last bucket counts the values greater than all the bounds.
+ *     The number and the sum of the values are also kept, to compute their mean.
+ *
+ *     Updated without lock from any thread, recording a value does not allocate anything:
+ *     it can be used in the bind of a list.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MetricsRegistry#histogram(String, long[])
+ */
+public final class Histogram {
+
+    // FOR DATA
+    /**
+     * Upper bounds of the buckets, increasing
+     */
+    private final long[] bounds;
+    /**
+     * Number of values of each bucket, the last one for the values greater than all the bounds
+     */
+    private final AtomicLongArray buckets;
+    /**
+     * Sum of the values recorded
+     */
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Constructor, use {@link MetricsRegistry#histogram(String, long[])}
+     *
+     * @param bounds
+     *      upper bounds of the buckets, increasing
+     */
+    Histogram(long[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("The bounds must be increasing");
+            }
+        }
+        this.bounds = bounds.clone();
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Record a value in its bucket
+     *
+     * @param value
+     *      value to record
+     */
+    public void record(long value) {
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        sum.addAndGet(value);
+    }
+
+    /**
+     * Record the time elapsed since a date, in microseconds
+     *
+     * @param startNanos
+     *      date returned by {@link System#nanoTime()} when the measure started
+     */
+    public void recordMicrosSince(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1000);
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the number of buckets
+     * @return
+     *      number of bounds plus one
+     */
+    public int getBucketCount() {
+        return buckets.length();
+    }
+
+    /**
+     * Return the upper bound of a bucket
+     *
+     * @param bucket
+     *      index of the bucket
+     * @return
+     *      the bound, {@link Long#MAX_VALUE} for the last bucket
+     */
+    public long getBound(int bucket) {
+        return bucket < bounds.length ? bounds[bucket] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Return the number of values of a bucket since the last export
+     *
+     * @param bucket
+     *      index of the bucket
+     * @return
+     *      number of values
+     */
+    public long getBucket(int bucket) {
+        return buckets.get(bucket);
+    }
+
+    /**
+     * Return the number of values recorded since the last export
+     * @return
+     *      number of values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Return the sum of the values recorded since the last export
+     * @return
+     *      sum of the values
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    //----------------------//
+    //EXPORT
+    //----------------------//
+
+    /**
+     * Return the number of values of each bucket since the last export
+     *
+     * @return
+     *      the numbers of values, indexed by bucket
+     */
+    long[] getBuckets() {
+        long[] counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Remove the values written by an export, the values recorded meanwhile are kept for the next one
+     *
+     * @param exportedBuckets
+     *      numbers of values of each bucket written by the export
+     * @param exportedSum
+     *      sum of the values written by the export
+     */
+    void subtract(long[] exportedBuckets, long exportedSum) {
+        for (int i = 0; i < exportedBuckets.length; i++) {
+            buckets.addAndGet(i, -exportedBuckets[i]);
+        }
+        sum.addAndGet(-exportedSum);
+    }
+}
@@ -0,0 +1,380 @@
+package com.galou.moodtracker.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <b>
+ *     Metrics measured by the application on the user's device
+ * </b>
+ * <p>
+ *     The metrics are created once by name and kept by the code that updates them,
+ *     the updates do not lock nor allocate anything.
+ *
+ *     They are exported in a text file, one snapshot appended at each export:
+ *     <li>a line <code>#&lt;time in milliseconds&gt;</code> begins a snapshot</li>
+ *     <li>a counter: <code>c &lt;name&gt; &lt;value&gt;</code></li>
+ *     <li>a histogram: <code>h &lt;name&gt; &lt;count&gt; &lt;sum&gt; &lt;bound&gt;:&lt;count&gt;,...</code>,
+ *     only the buckets not empty, the last bound being <code>inf</code></li>
+ *
+ *     The metrics not updated since the last export are not written.
+ *     The values written are then removed from the metrics, the updates made during the export are kept for the next one.
+ *     The file is rotated when it becomes larger than {@link MetricsRegistry#MAX_FILE_BYTES}, the previous one is kept.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see Counter
+ * @see Histogram
+ */
+public class MetricsRegistry {
+
+    /**
+     * Bounds of the buckets of the durations, in microseconds, from 50 µs to 1 s
+     */
+    public static final long[] MICROS_BOUNDS = {
+            50, 100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000, 1000000
+    };
+
+    /**
+     * Size of the exported file from which it is rotated, in bytes
+     *
+     * @see MetricsRegistry#exportTo(File, long)
+     */
+    public static final long MAX_FILE_BYTES = 256 * 1024;
+
+    /**
+     * Suffix of the previous file of the metrics, kept when the file is rotated
+     */
+    public static final String ROTATED_SUFFIX = ".1";
+
+    /**
+     * Charset of the exported file
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // FOR DATA
+    /**
+     * Counters by name
+     */
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    /**
+     * Histograms by name
+     */
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    //----------------------//
+    //METRICS
+    //----------------------//
+
+    /**
+     * Return the counter of a name, created the first time
+     *
+     * @param name
+     *      name of the counter, without spaces
+     * @return
+     *      the counter, to keep by the code that updates it
+     */
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            Counter created = new Counter();
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Return the histogram of a name, created the first time with the given buckets
+     *
+     * @param name
+     *      name of the histogram, without spaces
+     * @param bounds
+     *      upper bounds of the buckets, increasing, only used to create the histogram
+     * @return
+     *      the histogram, to keep by the code that updates it
+     *
+     * @see MetricsRegistry#MICROS_BOUNDS
+     */
+    public Histogram histogram(String name, long[] bounds) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            Histogram created = new Histogram(bounds);
+            histogram = histograms.putIfAbsent(name, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    //----------------------//
+    //EXPORT
+    //----------------------//
+
+    /**
+     * Write the metrics updated since the last export, then remove the values written from them
+     * <p>
+     *     Nothing is removed if the snapshot cannot be written, it is written again by the next export
+     * </p>
+     *
+     * @param out
+     *      destination of the snapshot
+     * @param timeMillis
+     *      date of the snapshot
+     * @return
+     *      the number of metrics written
+     * @throws IOException
+     *      if the snapshot cannot be written
+     */
+    public int exportTo(Appendable out, long timeMillis) throws IOException {
+        Snapshot snapshot = snapshot();
+        if (snapshot.isEmpty()) {
+            return 0;
+        }
+        snapshot.writeTo(out, timeMillis);
+        snapshot.subtract();
+        return snapshot.size();
+    }
+
+    /**
+     * Append the metrics updated since the last export at the end of a file
+     * <p>
+     *     The file is rotated first if it is larger than {@link MetricsRegistry#MAX_FILE_BYTES}
+     * </p>
+     *
+     * @param file
+     *      file of the metrics, created the first time
+     * @param timeMillis
+     *      date of the snapshot
+     * @return
+     *      the number of metrics written
+     * @throws IOException
+     *      if the file cannot be rotated or written
+     *
+     * @see MetricsRegistry#exportTo(File, long, long)
+     */
+    public int exportTo(File file, long timeMillis) throws IOException {
+        return exportTo(file, timeMillis, MAX_FILE_BYTES);
+    }
+
+    /**
+     * Append the metrics updated since the last export at the end of a file,
+     * then remove the values written from them once the file is closed
+     * <p>
+     *     When the file is larger than the given size, it is renamed with the suffix {@link MetricsRegistry#ROTATED_SUFFIX}
+     *     and a new file is started: the metrics never take more than about twice this size
+     * </p>
+     *
+     * @param file
+     *      file of the metrics, created the first time
+     * @param timeMillis
+     *      date of the snapshot
+     * @param maxFileBytes
+     *      size of the file from which it is rotated
+     * @return
+     *      the number of metrics written
+     * @throws IOException
+     *      if the file cannot be rotated or written
+     */
+    public int exportTo(File file, long timeMillis, long maxFileBytes) throws IOException {
+        Snapshot snapshot = snapshot();
+        if (snapshot.isEmpty()) {
+            return 0;
+        }
+        if (file.length() > maxFileBytes) {
+            rotate(file);
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), UTF_8);
+        try {
+            snapshot.writeTo(writer, timeMillis);
+        } finally {
+            writer.close();
+        }
+        snapshot.subtract();
+        return snapshot.size();
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Read the values of the metrics updated since the last export, without removing them
+     *
+     * @return
+     *      the snapshot of the metrics
+     */
+    private Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            snapshot.addCounter(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            snapshot.addHistogram(entry.getKey(), entry.getValue());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Rename a file of the metrics with the suffix {@link MetricsRegistry#ROTATED_SUFFIX}, replacing the previous one
+     *
+     * @param file
+     *      file of the metrics
+     * @throws IOException
+     *      if the file cannot be renamed
+     */
+    private static void rotate(File file) throws IOException {
+        File rotated = new File(file.getPath() + ROTATED_SUFFIX);
+        if (rotated.exists() && !rotated.delete()) {
+            throw new IOException("Unable to delete " + rotated);
+        }
+        if (!file.renameTo(rotated)) {
+            throw new IOException("Unable to rename " + file + " to " + rotated);
+        }
+    }
+
+    /**
+     * <b>
+     *     Values of the metrics read for an export
+     * </b>
+     * <p>
+     *     The text is built when the values are read, the values are removed from the metrics once it is written
+     * </p>
+     */
+    private static final class Snapshot {
+
+        // FOR DATA
+        /**
+         * Lines of the metrics, without the line of the date
+         */
+        private final StringBuilder lines = new StringBuilder();
+        /**
+         * Counters written and their value
+         */
+        private final List<Counter> counters = new ArrayList<>();
+        private final List<Long> counterValues = new ArrayList<>();
+        /**
+         * Histograms written, the numbers of values of their buckets and their sum
+         */
+        private final List<Histogram> histograms = new ArrayList<>();
+        private final List<long[]> histogramBuckets = new ArrayList<>();
+        private final List<Long> histogramSums = new ArrayList<>();
+
+        /**
+         * Add the line of a counter if it was updated
+         *
+         * @param name
+         *      name of the counter
+         * @param counter
+         *      counter to write
+         */
+        void addCounter(String name, Counter counter) {
+            long value = counter.get();
+            if (value == 0) {
+                return;
+            }
+            lines.append("c ").append(name).append(' ').append(value).append('\n');
+            counters.add(counter);
+            counterValues.add(value);
+        }
+
+        /**
+         * Add the line of a histogram if values were recorded
+         *
+         * @param name
+         *      name of the histogram
+         * @param histogram
+         *      histogram to write
+         */
+        void addHistogram(String name, Histogram histogram) {
+            long[] buckets = histogram.getBuckets();
+            long sum = histogram.getSum();
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+            if (count == 0) {
+                return;
+            }
+            lines.append("h ").append(name).append(' ').append(count).append(' ').append(sum).append(' ');
+            boolean isFirst = true;
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] == 0) {
+                    continue;
+                }
+                if (!isFirst) {
+                    lines.append(',');
+                }
+                isFirst = false;
+                if (i < buckets.length - 1) {
+                    lines.append(histogram.getBound(i));
+                } else {
+                    lines.append("inf");
+                }
+                lines.append(':').append(buckets[i]);
+            }
+            lines.append('\n');
+            histograms.add(histogram);
+            histogramBuckets.add(buckets);
+            histogramSums.add(sum);
+        }
+
+        /**
+         * Return true if no metric was updated
+         * @return
+         *      true if there is nothing to write
+         */
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        /**
+         * Return the number of metrics of the snapshot
+         * @return
+         *      number of counters and histograms written
+         */
+        int size() {
+            return counters.size() + histograms.size();
+        }
+
+        /**
+         * Write the snapshot
+         *
+         * @param out
+         *      destination of the snapshot
+         * @param timeMillis
+         *      date of the snapshot
+         * @throws IOException
+         *      if the snapshot cannot be written
+         */
+        void writeTo(Appendable out, long timeMillis) throws IOException {
+            out.append('#').append(Long.toString(timeMillis)).append('\n').append(lines);
+        }
+
+        /**
+         * Remove the values of the snapshot from the metrics, once it is written
+         */
+        void subtract() {
+            for (int i = 0; i < counters.size(); i++) {
+                counters.get(i).subtract(counterValues.get(i));
+            }
+            for (int i = 0; i < histograms.size(); i++) {
+                histograms.get(i).subtract(histogramBuckets.get(i), histogramSums.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     Convert a number from number to word in English
+ * </b>
+ * <p>
+ *     Convert the given number, from 0 to 999 999 999 999, into word,
+ *     without "and": 123 is "one hundred twenty-three".
+ *     A {@link TableNumberSpeller} subclass, the words of the numbers below 1000 are built once
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see NumberToWords#forLocale(java.util.Locale)
+ */
+public final class EnglishNumberSpeller extends TableNumberSpeller {
+
+    /**
+     * Instance shared by the application, its table is built once
+     */
+    public static final EnglishNumberSpeller INSTANCE = new EnglishNumberSpeller();
+
+    private static final String[] tensNames = {
+            "",
+            "",
+            "twenty",
+            "thirty",
+            "forty",
+            "fifty",
+            "sixty",
+            "seventy",
+            "eighty",
+            "ninety"
+    };
+
+    private static final String[] numNames = {
+            "",
+            "one",
+            "two",
+            "three",
+            "four",
+            "five",
+            "six",
+            "seven",
+            "eight",
+            "nine",
+            "ten",
+            "eleven",
+            "twelve",
+            "thirteen",
+            "fourteen",
+            "fifteen",
+            "sixteen",
+            "seventeen",
+            "eighteen",
+            "nineteen"
+    };
+
+    /**
+     * Constructor, use {@link EnglishNumberSpeller#INSTANCE}
+     */
+    private EnglishNumberSpeller() {
+    }
+
+    /**
+     * Return the word of 0
+     *
+     * @return
+     *      "zero"
+     */
+    @Override
+    protected String getZero() {
+        return "zero";
+    }
+
+    /**
+     * Write the groups of three digits of a number with their units, separated by spaces
+     *
+     * @param builder
+     *      StringBuilder in which the number is written
+     * @param billions
+     *      group of the billions
+     * @param millions
+     *      group of the millions
+     * @param thousands
+     *      group of the thousands
+     * @param units
+     *      last group
+     */
+    @Override
+    protected void appendGroups(StringBuilder builder, int billions, int millions, int thousands, int units) {
+        int start = builder.length();
+        appendGroup(builder, start, billions, " billion");
+        appendGroup(builder, start, millions, " million");
+        appendGroup(builder, start, thousands, " thousand");
+        appendGroup(builder, start, units, "");
+    }
+
+    /**
+     * Write a group of three digits followed by its unit, nothing if the group is 0
+     *
+     * @param builder
+     *      StringBuilder in which the group is written
+     * @param start
+     *      length of the StringBuilder before the first group, a space is written between the groups
+     * @param group
+     *      number from 0 to 999
+     * @param unit
+     *      unit written after the group
+     */
+    private void appendGroup(StringBuilder builder, int start, int group, String unit) {
+        if (group != 0) {
+            if (builder.length() > start) {
+                builder.append(' ');
+            }
+            builder.append(lessThanOneThousand(group)).append(unit);
+        }
+    }
+
+    /**
+     * Used to convert number from 0 to 999, return a String
+     *
+     * @param number
+     *      number to convert has to be from 0 to 999
+     * @return
+     *      a string of the number converted in word
+     */
+    @Override
+    protected String buildLessThanOneThousand(int number) {
+        int hundreds = number / 100;
+        String rest = convertZeroToHundred(number % 100);
+        if (hundreds == 0) {
+            return rest;
+        }
+        String words = numNames[hundreds] + " hundred";
+        return rest.isEmpty() ? words : words + " " + rest;
+    }
+
+    /**
+     * Used to convert number from 0 to 99, return a String
+     *
+     * @param number
+     *      number to convert, has to be between 0 and 99
+     * @return
+     *      a string of the number converted in word
+     *
+     * @see EnglishNumberSpeller#numNames
+     * @see EnglishNumberSpeller#tensNames
+     */
+    private static String convertZeroToHundred(int number) {
+        if (number < 20) {
+            return numNames[number];
+        }
+        int theTen = number / 10;
+        int lNum = number % 10;
+        return lNum == 0 ? tensNames[theTen] : tensNames[theTen] + "-" + numNames[lNum];
+    }
+}
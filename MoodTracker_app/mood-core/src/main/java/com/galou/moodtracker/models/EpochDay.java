@@ -0,0 +1,85 @@
+package com.galou.moodtracker.models;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * <b>
+ *     Convert dates in epoch-days
+ * </b>
+ * <p>
+ *     An epoch-day is the number of days since the 1st January 1970 in the time zone of the device.
+ *     It is used to store the date of a mood in a single int.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodBank
+ */
+public final class EpochDay {
+
+    /**
+     * Number of milliseconds in a day
+     */
+    public static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /**
+     * Constructor, the class only contains static methods
+     */
+    private EpochDay() {
+    }
+
+    /**
+     * Return the epoch-day of a date in milliseconds, in the time zone of the device
+     *
+     * @param timeInMillis
+     *      date in milliseconds
+     * @return
+     *      epoch-day of the date
+     */
+    public static int fromMillis(long timeInMillis) {
+        long localMillis = timeInMillis + TimeZone.getDefault().getOffset(timeInMillis);
+        long day = localMillis / MILLIS_PER_DAY;
+        // round toward negative infinity for the dates before 1970
+        if (localMillis % MILLIS_PER_DAY < 0) {
+            day--;
+        }
+        return (int) day;
+    }
+
+    /**
+     * Return the epoch-day of a Calendar
+     *
+     * @param date
+     *      date to convert
+     * @return
+     *      epoch-day of the date
+     */
+    public static int fromCalendar(Calendar date) {
+        return fromMillis(date.getTimeInMillis());
+    }
+
+    /**
+     * Return the epoch-day of today
+     *
+     * @return
+     *      epoch-day of today
+     */
+    public static int today() {
+        return fromMillis(System.currentTimeMillis());
+    }
+
+    /**
+     * Return the date in milliseconds of the beginning of an epoch-day, in the time zone of the device
+     *
+     * @param epochDay
+     *      epoch-day to convert
+     * @return
+     *      date in milliseconds of midnight that day
+     */
+    public static long toMillis(int epochDay) {
+        long utcMillis = epochDay * MILLIS_PER_DAY;
+        return utcMillis - TimeZone.getDefault().getOffset(utcMillis);
+    }
+}
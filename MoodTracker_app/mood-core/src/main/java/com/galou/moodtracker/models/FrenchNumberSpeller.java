@@ -0,0 +1,216 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     Convert a number from number to word in French
+ * </b>
+ * <p>
+ *     Convert the given number, from 0 to 999 999 999 999, into word.
+ *     A {@link TableNumberSpeller} subclass, the words of the numbers below 1000 are built once
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see NumberToWords#forLocale(java.util.Locale)
+ */
+public final class FrenchNumberSpeller extends TableNumberSpeller {
+
+    /**
+     * Instance shared by the application, its table is built once
+     */
+    public static final FrenchNumberSpeller INSTANCE = new FrenchNumberSpeller();
+
+    private static final  String[] tensNames = {
+            "",
+            "",
+            "vingt",
+            "trente",
+            "quarante",
+            "cinquante",
+            "soixante",
+            "soixante",
+            "quatre-vingt",
+            "quatre-vingt"
+    };
+
+    private static final String[] numNames1 = {
+            "",
+            "un",
+            "deux",
+            "trois",
+            "quatre",
+            "cinq",
+            "six",
+            "sept",
+            "huit",
+            "neuf",
+            "dix",
+            "onze",
+            "douze",
+            "treize",
+            "quatorze",
+            "quinze",
+            "seize",
+            "dix-sept",
+            "dix-huit",
+            "dix-neuf"
+    };
+
+    private  static final String[] numName2 = {
+            "",
+            "",
+            "deux",
+            "trois",
+            "quatre",
+            "cinq",
+            "six",
+            "sept",
+            "huit",
+            "neuf",
+            "dix"
+    };
+
+    /**
+     * Constructor, use {@link FrenchNumberSpeller#INSTANCE}
+     */
+    private FrenchNumberSpeller() {
+    }
+
+    /**
+     * Return the word of 0
+     *
+     * @return
+     *      "zéro"
+     */
+    @Override
+    protected String getZero() {
+        return "zéro";
+    }
+
+    /**
+     * Write the groups of three digits of a number with their units
+     * <p>
+     *     "mille" is not preceded by "un" and takes no "s",
+     *     each unit is followed by a space
+     * </p>
+     *
+     * @param builder
+     *      StringBuilder in which the number is written
+     * @param billions
+     *      group of the billions
+     * @param millions
+     *      group of the millions
+     * @param thousands
+     *      group of the thousands
+     * @param units
+     *      last group
+     */
+    @Override
+    protected void appendGroups(StringBuilder builder, int billions, int millions, int thousands, int units) {
+        appendGroup(builder, billions, " milliard ", " milliards ");
+        appendGroup(builder, millions, " million ", " millions ");
+        if (thousands == 1) {
+            builder.append("mille ");
+        } else {
+            appendGroup(builder, thousands, " mille ", " mille ");
+        }
+        builder.append(lessThanOneThousand(units));
+    }
+
+    /**
+     * Write a group of three digits followed by its unit, nothing if the group is 0
+     *
+     * @param builder
+     *      StringBuilder in which the group is written
+     * @param group
+     *      number from 0 to 999
+     * @param one
+     *      unit written after the group when it is 1
+     * @param many
+     *      unit written after the group when it is more than 1
+     */
+    private void appendGroup(StringBuilder builder, int group, String one, String many) {
+        if (group != 0) {
+            builder.append(lessThanOneThousand(group)).append(group == 1 ? one : many);
+        }
+    }
+
+    /**
+     * Used to convert number from 0 to 999, return a String
+     *
+     * @param number
+     *      number to convert has to be from 0 to 999
+     * @return
+     *      a string of the number converted in word
+     *
+     * @see FrenchNumberSpeller#numName2
+     */
+    @Override
+    protected String buildLessThanOneThousand(int number) {
+        int hundreads = number / 100;
+        int rest = number % 100;
+        String sReste = convertZeroToHundred(rest);
+
+        switch (hundreads) {
+            case 0:
+                return sReste;
+            case 1 :
+                return rest > 0 ? "cent " + sReste : "cent";
+            default :
+                return rest > 0 ? numName2[hundreads] + " cent " + sReste : numName2[hundreads] + " cents";
+        }
+    }
+
+    /**
+     * Used to convert number from 0 to 100, return a String
+     * @param number
+     *      number to convert, has to be between 0 and 99
+     * @return
+     *      a string of the number converted in word
+     *
+     * @see FrenchNumberSpeller#numNames1
+     * @see FrenchNumberSpeller#tensNames
+     */
+    private static String convertZeroToHundred(int number) {
+        int theTen = number / 10;
+        int lNum = number % 10;
+
+        switch (theTen) {
+            case 1 :
+            case 7 :
+            case 9 :
+                lNum = lNum + 10;
+                break;
+            default:
+        }
+
+        // separator "-" "et"  ""
+        String link = theTen > 1 ? "-" : "";
+        // other cases
+        switch (lNum) {
+            case 0:
+                link = "";
+                break;
+            case 1 :
+                link = theTen == 8 ? "-" : " et ";
+                break;
+            case 11 :
+                if (theTen == 7) {
+                    link = " et ";
+                }
+                break;
+            default:
+        }
+
+        // tens in letters
+        if (theTen == 0) {
+            return numNames1[lNum];
+        }
+        if (theTen == 8 && lNum == 0) {
+            return tensNames[theTen];
+        }
+        return tensNames[theTen] + link + numNames1[lNum];
+    }
+
+}
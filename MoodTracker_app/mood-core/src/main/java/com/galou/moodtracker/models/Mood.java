@@ -0,0 +1,152 @@
+package com.galou.moodtracker.models;
+
+import java.io.Serializable;
+
+/**
+ * <b>
+ *     Represents a Mood.
+ * </b>
+ * <p>
+ * A Mood is characterize by the following information:
+ * <ul>
+ * <li>a level, which gives its drawable and its color</li>
+ * <li>a date, in epoch-day</li>
+ * <li>a comment</li>
+ * </ul>
+ * </p>
+ *  <p>
+ *  Implement the interface {@link Serializable}
+ * </p>
+ *
+ * @see MoodBank
+ *
+ * @author galou
+ * @version 1.0
+ *
+ */
+public class Mood implements Serializable{
+
+    /**
+     * Level of the Mood
+     * @see Mood#Mood(MoodLevel, int, String)
+     * @see Mood#getLevel()
+     * @see MoodLevel
+     */
+    private MoodLevel level;
+
+    /**
+     * Date of the Mood, number of days since the 1st January 1970 in the time zone of the device
+     *
+     * @see Mood#Mood(MoodLevel, int, String)
+     * @see Mood#getEpochDay()
+     * @see EpochDay
+     */
+    private int epochDay;
+
+    /**
+     * Comment of the Mood
+     * @see Mood#Mood(MoodLevel, int, String)
+     * @see Mood#getComment()
+     */
+    private String comment;
+
+    /**
+     *  Mood's constructor
+     *  <p>
+     *      When the mood is being build, a level, a date and a comment are assigned.
+     *  </p>
+     *
+     * @param level
+     *      Mood's level
+     * @param epochDay
+     *      Mood's date in epoch-day
+     * @param comment
+     *      Mood's comment
+     *
+     * @see Mood#level
+     * @see Mood#epochDay
+     * @see Mood#comment
+     * @see EpochDay
+     */
+    public Mood(MoodLevel level, int epochDay, String comment) {
+        this.level = level;
+        this.epochDay = epochDay;
+        this.comment = comment;
+    }
+
+    //----------------------//
+    //GETTER
+    //----------------------//
+
+    /**
+     *  Return level of the mood
+     * @return Mood's level
+     */
+    public MoodLevel getLevel() {
+        return level;
+    }
+
+    /**
+     *Return date of the mood
+     * @return Mood's date in epoch-day
+     *
+     * @see EpochDay
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     *Return comment of the mood
+     * @return Mood's comment
+     */
+    public String getComment(){
+        return comment;
+    }
+
+    /**
+     * Return true if the object is a Mood with the same level, date and comment
+     * <p>
+     *     A mood without comment is equal to a mood with an empty comment
+     * </p>
+     * @param o
+     *      object to compare
+     * @return
+     *      true if the moods are the same
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Mood)) {
+            return false;
+        }
+        Mood other = (Mood) o;
+        return level == other.level
+                && epochDay == other.epochDay
+                && commentOrEmpty().equals(other.commentOrEmpty());
+    }
+
+    /**
+     * Return the hash code of the Mood, computed from its level, date and comment
+     * @return
+     *      hash code
+     */
+    @Override
+    public int hashCode() {
+        int result = level != null ? level.hashCode() : 0;
+        result = 31 * result + epochDay;
+        result = 31 * result + commentOrEmpty().hashCode();
+        return result;
+    }
+
+    /**
+     * Return the comment, an empty String if the mood has no comment
+     * @return
+     *      Mood's comment, never null
+     */
+    private String commentOrEmpty() {
+        return comment != null ? comment : "";
+    }
+}
@@ -0,0 +1,402 @@
+package com.galou.moodtracker.models;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * <b>
+ *   Represents a list of mood.
+ *   </b>
+ * <p>
+ * A Bank Mood is characterize by the following information:
+ * <ul>
+ * <li>the last moods, stored in a circular buffer of parallel arrays</li>
+ * <li>the number of moods of each level, for each {@link MoodWindow}</li>
+ * <li>an index of the moods of each level by date, see {@link MoodRangeIndex}</li>
+ * </ul>
+ * </p>
+ *  <p>
+ *  Implement the interface {@link Serializable}
+ * </p>
+ *
+ * @see Mood
+ * @see MoodLevel
+ *
+ * @author galou
+ * @version 1.0
+ */
+public class MoodBank implements Serializable {
+
+    /**
+     * Comment shared by all the moods without comment
+     */
+    private static final String NO_COMMENT = "";
+
+    /**
+     * Level of the moods, circular buffer
+     * <p>
+     *     The moods are stored in parallel arrays, a mood is at the same index in each array
+     * </p>
+     * @see MoodBank#addMood(Mood)
+     * @see MoodBank#getMood(int)
+     * @see MoodLevel#ordinal()
+     */
+    private byte[] levels;
+    /**
+     * Date of the moods in epoch-day, circular buffer
+     *
+     * @see MoodBank#levels
+     * @see EpochDay
+     */
+    private int[] epochDays;
+    /**
+     * Comment of the moods, circular buffer
+     *
+     * @see MoodBank#levels
+     */
+    private String[] comments;
+    /**
+     * Index of the oldest mood in the buffers
+     *
+     * @see MoodBank#addMood(Mood)
+     */
+    private int head;
+    /**
+     * Number of moods in the buffers
+     *
+     * @see MoodBank#addMood(Mood)
+     */
+    private int count;
+
+    /**
+     * Count number of mood of each level the user enter during each window, indexed by the ordinal of the window
+     * <p>
+     *     The counts are updated when a mood is added and when it leaves a window
+     * </p>
+     *
+     * @see MoodBank#addMoodToCategory(Mood)
+     * @see MoodWindow
+     * @see WindowedMoodCounts
+     */
+    private WindowedMoodCounts[] countsByWindow;
+
+    /**
+     * Count number of mood of each level the user enter between two dates
+     *
+     * @see MoodBank#addMoodToCategory(Mood)
+     * @see MoodBank#getNb(MoodLevel, int, int)
+     */
+    private MoodRangeIndex rangeIndex;
+
+    /**
+     * Default number of moods kept in memory
+     *
+     * @see MoodBank#MoodBank()
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 7;
+
+    /**
+     * Max number of mood in the bank
+     * <p>
+     *     The older moods are only kept in the {@link MoodRepository}
+     * </p>
+     *
+     * @see MoodBank#isListTooLong()
+     */
+    private int windowSize;
+
+    /**
+     * Constructor MoodBank. Create an empty bank with the default window
+     *
+     * @see MoodBank#DEFAULT_WINDOW_SIZE
+     */
+    // CONSTRUCTOR
+    public MoodBank() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor MoodBank. Create an empty bank
+     *
+     * @param windowSize
+     *      max number of moods kept in the bank
+     */
+    public MoodBank(int windowSize) {
+        this.windowSize = Math.max(1, windowSize);
+        this.levels = new byte[this.windowSize];
+        this.epochDays = new int[this.windowSize];
+        this.comments = new String[this.windowSize];
+        this.head = 0;
+        this.count = 0;
+        MoodWindow[] windows = MoodWindow.values();
+        this.countsByWindow = new WindowedMoodCounts[windows.length];
+        for (MoodWindow window : windows) {
+            this.countsByWindow[window.ordinal()] = new WindowedMoodCounts(window);
+        }
+        this.rangeIndex = new MoodRangeIndex();
+    }
+
+    //----------------------//
+    //GETTER AND SETTER
+    //----------------------//
+
+    /**
+     * Add Mood to the bank
+     * <p>
+     *     if the bank is full the oldest mood is overwritten
+     * </p>
+     *
+     *
+     * @param mood
+     *      Mood to add
+     *
+     * @see MoodBank#isListTooLong()
+     * @see MoodBank#windowSize
+     * @see Mood
+     * @see MoodBank#addMoodToCategory(Mood)
+     */
+    public void addMood(Mood mood){
+        int slot;
+        if (this.isListTooLong()) {
+            slot = this.head;
+            this.head = (this.head + 1) % this.windowSize;
+        } else {
+            slot = (this.head + this.count) % this.windowSize;
+            this.count += 1;
+        }
+        this.levels[slot] = (byte) mood.getLevel().ordinal();
+        this.epochDays[slot] = mood.getEpochDay();
+        String comment = mood.getComment();
+        this.comments[slot] = comment == null || comment.isEmpty() ? NO_COMMENT : comment;
+        this.addMoodToCategory(mood);
+
+    }
+
+    /**
+     * Return mood at specify position in the bank
+     * <p>
+     *     The mood is created from the buffers, the bank does not keep Mood objects
+     * </p>
+     *
+     * @param position
+     *      position of the desired mood, from the oldest to the newest
+     * @return
+     *      mood at specify position
+     *
+     * @see MoodBank#levels
+     * @see Mood
+     */
+    public Mood getMood(int position){
+        if (position < 0 || position >= this.count) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", size: " + this.count);
+        }
+        int slot = (this.head + position) % this.windowSize;
+        return new Mood(MoodLevel.fromOrdinal(this.levels[slot]),
+                this.epochDays[slot], this.comments[slot]);
+    }
+
+    /**
+     * Return the number of moods in the bank
+     *
+     * @return
+     *      number of moods
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Return the list of Mood from the bank
+     * <p>
+     *     The list is a read-only view on the bank, the moods are created when they are read
+     * </p>
+     *
+     * @return
+     *      a list of mood
+     *
+     * @see MoodBank#getMood(int)
+     */
+    public List<Mood> getMoodList() {
+        return new AbstractList<Mood>() {
+            @Override
+            public Mood get(int index) {
+                return getMood(index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Return number of mood of a level entered during a window ending today
+     * <p>
+     *     The window is moved to today first, the moods that left it are not counted anymore
+     * </p>
+     * @param level
+     *      level of the moods
+     * @param window
+     *      period of time on which the moods are counted
+     * @return
+     *      number of moods of this level
+     *
+     * @see MoodBank#countsByWindow
+     * @see MoodBank#addMoodToCategory(Mood)
+     */
+    public int getNb(MoodLevel level, MoodWindow window) {
+        WindowedMoodCounts counts = countsByWindow[window.ordinal()];
+        counts.advanceTo(EpochDay.today());
+        return counts.get(level);
+    }
+
+    /**
+     * Return number of mood of a level entered between two dates
+     * @param level
+     *      level of the moods
+     * @param fromDay
+     *      first day of the range in epoch-day, included
+     * @param toDay
+     *      last day of the range in epoch-day, included
+     * @return
+     *      number of moods of this level
+     *
+     * @see MoodBank#rangeIndex
+     * @see EpochDay
+     */
+    public int getNb(MoodLevel level, int fromDay, int toDay) {
+        return rangeIndex.count(level, fromDay, toDay);
+    }
+
+    /**
+     * Return the date of the first mood the user entered
+     * @return
+     *      date in epoch-day, today if the user did not enter any mood
+     *
+     * @see MoodBank#rangeIndex
+     */
+    public int getFirstDay() {
+        return rangeIndex.getFirstDay();
+    }
+
+    /**
+     * Return number of mood of a level the user entered since he installed the application
+     * @param level
+     *      level of the moods
+     * @return
+     *      number of moods of this level
+     *
+     * @see MoodBank#getNb(MoodLevel, MoodWindow)
+     * @see MoodWindow#ALL_TIME
+     */
+    public int getNb(MoodLevel level) {
+        return getNb(level, MoodWindow.ALL_TIME);
+    }
+
+    /**
+     * Return number of mood SuperHappy
+     * @return
+     *      number mood super happy
+     *
+     * @see MoodBank#getNb(MoodLevel)
+     */
+    public int getNbSuperHappy() {
+        return getNb(MoodLevel.SUPER_HAPPY);
+    }
+
+    /**
+     * Return number of mood Happy
+     * @return
+     *      number mood happy
+     *
+     * @see MoodBank#getNb(MoodLevel)
+     */
+    public int getNbHappy() {
+        return getNb(MoodLevel.HAPPY);
+    }
+
+    /**
+     * Return number of mood Normal
+     * @return
+     *      number mood super normal
+     *
+     * @see MoodBank#getNb(MoodLevel)
+     */
+    public int getNbNormal() {
+        return getNb(MoodLevel.NORMAL);
+    }
+
+    /**
+     * Return number of mood Disappointed
+     * @return
+     *      number mood super disappointed
+     *
+     * @see MoodBank#getNb(MoodLevel)
+     */
+    public int getNbDisappointed() {
+        return getNb(MoodLevel.DISAPPOINTED);
+    }
+
+    /**
+     * Return number of mood Sad
+     * @return
+     *      number mood sad
+     *
+     * @see MoodBank#getNb(MoodLevel)
+     */
+    public int getNbSad() {
+        return getNb(MoodLevel.SAD);
+    }
+
+    //----------------------//
+    //SET DATA
+    //----------------------//
+
+    /**
+     * Return true if the bank contains as many moods as its window
+     * <p>
+     *     Used to know if we should overwrite or not the oldest mood when we add a new Mood
+     * </p>
+     *
+     * @return
+     *      true or false depending if the bank is full or not
+     *
+     * @see MoodBank#count
+     * @see MoodBank#windowSize
+     * @see MoodBank#addMood(Mood)
+     */
+    private boolean isListTooLong(){
+        return (this.count >= windowSize);
+    }
+
+    /**
+     * Count number of mood of each level (sad, disappointed, normal, happy, super happy) in each window
+     *
+     * @param mood
+     *      mood to add to the category
+     *
+     * @see MoodBank#addMood(Mood)
+     * @see MoodBank#countsByWindow
+     */
+    private void addMoodToCategory(Mood mood){
+        for (WindowedMoodCounts counts : countsByWindow) {
+            counts.add(mood.getLevel(), mood.getEpochDay());
+        }
+        rangeIndex.add(mood.getLevel(), mood.getEpochDay());
+    }
+
+
+    /**
+     * Return a String of the MoodBank
+     * @return
+     *      MoodBank in string
+     */
+    @Override
+    public String toString() {
+        return "MoodBank{" +
+                "moodList=" + getMoodList() +
+                '}';
+    }
+}
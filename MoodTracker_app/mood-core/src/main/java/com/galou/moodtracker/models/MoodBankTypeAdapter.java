@@ -0,0 +1,115 @@
+package com.galou.moodtracker.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <b>
+ *     Write and read a MoodBank in JSON without reflection
+ * </b>
+ * <p>
+ *     A bank is written as the list of its moods, from the oldest to the newest: {"moods":[...]}
+ *
+ *     The previous versions saved the moods in a field moodList, next to the number of moods of each level.
+ *     This adapter reads this format as well, the numbers are computed again from the moods.
+ *     The bank read keeps all the moods of the JSON.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodBank
+ * @see MoodTypeAdapter
+ * @see MoodGson
+ */
+public class MoodBankTypeAdapter extends TypeAdapter<MoodBank> {
+
+    /**
+     * Adapter used to write and read the moods of the bank
+     */
+    private final MoodTypeAdapter moodAdapter;
+
+    /**
+     * Constructor
+     *
+     * @param moodAdapter
+     *      adapter of the moods of the bank
+     */
+    public MoodBankTypeAdapter(MoodTypeAdapter moodAdapter) {
+        this.moodAdapter = moodAdapter;
+    }
+
+    /**
+     * Write a MoodBank in JSON
+     *
+     * @param out
+     *      writer of the JSON
+     * @param bank
+     *      bank to write
+     * @throws IOException
+     *      if the JSON can't be written
+     */
+    @Override
+    public void write(JsonWriter out, MoodBank bank) throws IOException {
+        if (bank == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("moods").beginArray();
+        for (int i = 0; i < bank.size(); i++) {
+            moodAdapter.write(out, bank.getMood(i));
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    /**
+     * Read a MoodBank from its JSON
+     *
+     * @param in
+     *      reader of the JSON
+     * @return
+     *      the bank read
+     * @throws IOException
+     *      if the JSON is not a bank
+     */
+    @Override
+    public MoodBank read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<Mood> moods = new ArrayList<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (("moods".equals(name) || "moodList".equals(name)) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    Mood mood = moodAdapter.read(in);
+                    if (mood != null) {
+                        moods.add(mood);
+                    }
+                }
+                in.endArray();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+
+        MoodBank bank = new MoodBank(Math.max(MoodBank.DEFAULT_WINDOW_SIZE, moods.size()));
+        for (Mood mood : moods) {
+            bank.addMood(mood);
+        }
+        return bank;
+    }
+}
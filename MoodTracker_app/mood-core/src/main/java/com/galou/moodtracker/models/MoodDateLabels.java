@@ -0,0 +1,217 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     Text telling how long ago a mood was entered
+ * </b>
+ * <p>
+ *     The text only depends on the number of days since the mood, all the texts are built once from the resources
+ *     and a mood only reads the text at its number of days: reading the text of a mood does not allocate anything.
+ *
+ *     The number of days is counted from the day kept by the labels, it only changes when
+ *     {@link MoodDateLabels#refreshToday()} is called after midnight.
+ *
+ *     <li>yesterday or today: "Hier"</li>
+ *     <li>two days: "Avant-hier"</li>
+ *     <li>less than a week: the number of days</li>
+ *     <li>less than a month: the number of weeks</li>
+ *     <li>more than a month: "Il y a plus d'un mois"</li>
+ *
+ *     The numbers are spelled in the language of the configuration, the speller is chosen once when the labels are built,
+ *     see {@code MoodResources#dateLabels(Resources)} in the application. The class does not depend on Android,
+ *     it is part of the module mood-core.
+ *     The texts are shared by all the MoodViewHolders of a RecyclerView, they are only read on the UI thread.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see NumberSpeller
+ */
+public class MoodDateLabels {
+
+    /**
+     * Number of days from which the same text is displayed for all the moods
+     */
+    static final int DAYS_IN_MONTH = 31;
+    /**
+     * Number of days in a week
+     */
+    private static final int DAYS_IN_WEEK = 7;
+
+    // FOR DATA
+    /**
+     * Text of each number of days, indexed by the number of days, the last one for all the older moods
+     *
+     * @see MoodDateLabels#getLabel(int)
+     */
+    private final String[] labels = new String[DAYS_IN_MONTH + 1];
+    /**
+     * Today's date in epoch-day, from which the days are counted
+     *
+     * @see MoodDateLabels#refreshToday()
+     */
+    private int today;
+    /**
+     * Date in milliseconds of the beginning of today
+     */
+    private long todayStartMillis;
+    /**
+     * Date in milliseconds of the beginning of tomorrow
+     */
+    private long tomorrowStartMillis;
+    /**
+     * Speller of the numbers in the language of the texts
+     */
+    private final NumberSpeller speller;
+    /**
+     * Text of the moods older than a month
+     */
+    private final String month;
+    /**
+     * Format of the moods from one week ago
+     */
+    private final String week;
+    /**
+     * Format of the moods from several weeks ago
+     */
+    private final String weeks;
+    /**
+     * Format of the moods from several days ago
+     */
+    private final String days;
+    /**
+     * Text of the moods from yesterday
+     */
+    private final String yesterday;
+    /**
+     * Text of the moods from two days ago
+     */
+    private final String twoDaysAgo;
+
+    /**
+     * Constructor
+     *
+     * @param speller
+     *      speller of the numbers in the language of the texts
+     * @param month
+     *      text of the moods older than a month
+     * @param week
+     *      format of the moods from one week ago, with the number of weeks
+     * @param weeks
+     *      format of the moods from several weeks ago, with the number of weeks
+     * @param days
+     *      format of the moods from several days ago, with the number of days
+     * @param yesterday
+     *      text of the moods from yesterday
+     * @param twoDaysAgo
+     *      text of the moods from two days ago
+     */
+    public MoodDateLabels(NumberSpeller speller, String month, String week, String weeks, String days,
+                          String yesterday, String twoDaysAgo) {
+        this.speller = speller;
+        this.month = month;
+        this.week = week;
+        this.weeks = weeks;
+        this.days = days;
+        this.yesterday = yesterday;
+        this.twoDaysAgo = twoDaysAgo;
+        for (int daysSinceMood = 0; daysSinceMood < DAYS_IN_MONTH; daysSinceMood++) {
+            // the days of the same week share the text of the first day of the week
+            this.labels[daysSinceMood] = daysSinceMood > DAYS_IN_WEEK && daysSinceMood % DAYS_IN_WEEK != 0
+                    ? this.labels[daysSinceMood - daysSinceMood % DAYS_IN_WEEK]
+                    : buildLabel(daysSinceMood);
+        }
+        this.labels[DAYS_IN_MONTH] = month;
+        this.refreshToday();
+    }
+
+    //----------------------//
+    //SET DATA
+    //----------------------//
+
+    /**
+     * Count the days from the current date, if it changed since the last call
+     *
+     * @return
+     *      true if the day changed, the texts of the moods displayed must be read again
+     *
+     * @see MoodDateLabels#getMillisUntilTomorrow()
+     */
+    public boolean refreshToday() {
+        return refreshToday(System.currentTimeMillis());
+    }
+
+    /**
+     * Count the days from a date, if it is not in the day already kept
+     *
+     * @param nowMillis
+     *      current date in milliseconds
+     * @return
+     *      true if the day changed
+     */
+    boolean refreshToday(long nowMillis) {
+        if (nowMillis >= todayStartMillis && nowMillis < tomorrowStartMillis) {
+            return false;
+        }
+        today = EpochDay.fromMillis(nowMillis);
+        todayStartMillis = EpochDay.toMillis(today);
+        tomorrowStartMillis = EpochDay.toMillis(today + 1);
+        return true;
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the text telling how long ago a mood was entered
+     *
+     * @param epochDay
+     *      date of the mood in epoch-day
+     * @return
+     *      the text to display, the same instance for the same text
+     */
+    public String getLabel(int epochDay) {
+        int daysSinceMood = Math.abs(today - epochDay);
+        return labels[Math.min(daysSinceMood, DAYS_IN_MONTH)];
+    }
+
+    /**
+     * Return the time left until midnight, when the texts of the moods change
+     *
+     * @return
+     *      number of milliseconds until the beginning of tomorrow
+     *
+     * @see MoodDateLabels#refreshToday()
+     */
+    public long getMillisUntilTomorrow() {
+        return Math.max(0, tomorrowStartMillis - System.currentTimeMillis());
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Build the text of a number of days, the number is displayed in words
+     *
+     * @param daysSinceMood
+     *      number of days since the mood, less than a month
+     * @return
+     *      the text to display
+     */
+    private String buildLabel(int daysSinceMood) {
+        if (daysSinceMood >= DAYS_IN_WEEK) {
+            int weeksSinceMood = daysSinceMood / DAYS_IN_WEEK;
+            return String.format(weeksSinceMood == 1 ? week : weeks, speller.spell(weeksSinceMood));
+        }
+        if (daysSinceMood <= 1) {
+            return yesterday;
+        }
+        if (daysSinceMood == 2) {
+            return twoDaysAgo;
+        }
+        return String.format(days, speller.spell(daysSinceMood));
+    }
+}
@@ -0,0 +1,52 @@
+package com.galou.moodtracker.models;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * <b>
+ *     Gson shared by the application to write and read the moods in JSON
+ * </b>
+ * <p>
+ *     The Mood and MoodBank are written and read by streaming adapters, without reflection.
+ *     Gson is thread-safe, the same instance is used everywhere
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodTypeAdapter
+ * @see MoodBankTypeAdapter
+ */
+public final class MoodGson {
+
+    /**
+     * Shared Gson instance
+     *
+     * @see MoodGson#get()
+     */
+    private static final Gson GSON;
+
+    static {
+        MoodTypeAdapter moodAdapter = new MoodTypeAdapter();
+        GSON = new GsonBuilder()
+                .registerTypeAdapter(Mood.class, moodAdapter)
+                .registerTypeAdapter(MoodBank.class, new MoodBankTypeAdapter(moodAdapter))
+                .create();
+    }
+
+    /**
+     * Utility class, not instantiated
+     */
+    private MoodGson() {}
+
+    /**
+     * Return the Gson shared by the application
+     *
+     * @return
+     *      Gson with the adapters of the moods registered
+     */
+    public static Gson get() {
+        return GSON;
+    }
+}
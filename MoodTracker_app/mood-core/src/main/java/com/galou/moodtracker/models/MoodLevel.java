@@ -0,0 +1,133 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     Represents the level of a Mood
+ * </b>
+ * <p>
+ *     The ordinal of the level is the value saved with the mood, it does not depend on the build of the application.
+ *     It is also the position of the mood in the VerticalViewPager of the application.
+ *
+ *     Each level has a ratio of the screen width used to display it in the history,
+ *     its drawable, color and label are resources of the application, see {@code MoodResources} in the application.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see Mood
+ */
+public enum MoodLevel {
+
+    SAD(0.2f),
+    DISAPPOINTED(0.4f),
+    NORMAL(0.6f),
+    HAPPY(0.8f),
+    SUPER_HAPPY(1f);
+
+    /**
+     * Levels indexed by their ordinal
+     *
+     * @see MoodLevel#fromOrdinal(int)
+     */
+    private static final MoodLevel[] VALUES = values();
+
+    /**
+     * Number of levels
+     */
+    public static final int COUNT = VALUES.length;
+
+    /**
+     * Drawables of the levels in this build, indexed by their ordinal, to read the moods saved with their drawable
+     *
+     * @see MoodLevel#setLegacyDrawables(int[])
+     */
+    private static volatile int[] legacyDrawables = new int[0];
+
+    /**
+     * Ratio of the screen width used to display the level in the history
+     */
+    private final float widthRatio;
+
+    /**
+     * Constructor
+     *
+     * @param widthRatio
+     *      ratio of the screen width
+     */
+    MoodLevel(float widthRatio) {
+        this.widthRatio = widthRatio;
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the ratio of the screen width used to display the level in the history
+     * @return
+     *      ratio between 0 and 1
+     */
+    public float getWidthRatio() {
+        return widthRatio;
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Return the level of the given ordinal
+     *
+     * @param ordinal
+     *      ordinal of the level
+     * @return
+     *      the level
+     */
+    public static MoodLevel fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Return the level of a mood saved by a previous version
+     * <p>
+     *     The previous versions saved the drawable of the mood and its position in the ViewPager as ID.
+     *     The ID is used first since the drawable ids change between builds.
+     * </p>
+     *
+     * @param drawable
+     *      drawable saved with the mood, or the ordinal of its level
+     * @param id
+     *      ID saved with the mood
+     * @return
+     *      the level of the mood
+     */
+    public static MoodLevel fromLegacy(int drawable, int id) {
+        if (id >= 0 && id < COUNT) {
+            return VALUES[id];
+        }
+        if (drawable >= 0 && drawable < COUNT) {
+            return VALUES[drawable];
+        }
+        int[] drawables = legacyDrawables;
+        for (int i = 0; i < drawables.length && i < COUNT; i++) {
+            if (drawables[i] == drawable) {
+                return VALUES[i];
+            }
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Set the drawables of the levels in this build, the last resort to read a mood saved with its drawable
+     * <p>
+     *     The models do not depend on the resources, the application sets them when it is created
+     * </p>
+     *
+     * @param drawables
+     *      drawables indexed by the ordinal of the levels
+     */
+    public static void setLegacyDrawables(int[] drawables) {
+        legacyDrawables = drawables.clone();
+    }
+}
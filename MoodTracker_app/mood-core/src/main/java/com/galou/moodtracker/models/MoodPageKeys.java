@@ -0,0 +1,108 @@
+package com.galou.moodtracker.models;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <b>
+ *     Remember where the pages of the moods begin, to read them by key instead of skipping rows
+ * </b>
+ * <p>
+ *     A {@link MoodRepository} stores one mood per day, ordered by date: the page starting at a position
+ *     is the moods after the day of the previous position.
+ *     For each position known, the key is the day of the mood just before it, the first position having no mood before it.
+ *
+ *     Reading the history from the first page, each page gives the key of the next one,
+ *     so a page is read from its key without going through the moods before it.
+ *     A page after a position not known yet is read from the nearest key before it, skipping only the moods in between.
+ *
+ *     The keys are only valid until a mood is added before the last one, they are cleared when the moods are written.
+ *     Not thread-safe, used by the thread reading the repository
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodRepository
+ * @see MoodPageSource#loadPage(int, int)
+ */
+public class MoodPageKeys {
+
+    /**
+     * Key of the first position, lower than all the days
+     */
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    // FOR DATA
+    /**
+     * Day of the mood before each position known
+     */
+    private final TreeMap<Integer, Integer> keys = new TreeMap<>();
+
+    /**
+     * Constructor, only the key of the first position is known
+     */
+    public MoodPageKeys() {
+        keys.put(0, NO_DAY);
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the nearest position known at or before a position
+     *
+     * @param position
+     *      position of the first mood of a page
+     * @return
+     *      a position whose key is known, the moods between it and the page have to be skipped
+     */
+    public int getKeyPosition(int position) {
+        Map.Entry<Integer, Integer> entry = keys.floorEntry(position);
+        return entry != null ? entry.getKey() : 0;
+    }
+
+    /**
+     * Return the day of the mood before a position known
+     *
+     * @param keyPosition
+     *      position returned by {@link MoodPageKeys#getKeyPosition(int)}
+     * @return
+     *      the day of the mood before the position, {@link MoodPageKeys#NO_DAY} for the first position
+     */
+    public int getDayBefore(int keyPosition) {
+        Integer day = keys.get(keyPosition);
+        return day != null ? day : NO_DAY;
+    }
+
+    //----------------------//
+    //SET DATA
+    //----------------------//
+
+    /**
+     * Remember the keys of the positions of a page read, and of the position after it
+     *
+     * @param start
+     *      position of the first mood of the page
+     * @param page
+     *      moods of the page, from the oldest to the newest
+     */
+    public void addPage(int start, List<Mood> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        // the days are unique: the mood before the page is at most the day before its first mood
+        keys.put(start, page.get(0).getEpochDay() - 1);
+        keys.put(start + page.size(), page.get(page.size() - 1).getEpochDay());
+    }
+
+    /**
+     * Forget the keys, after moods have been written
+     */
+    public void clear() {
+        keys.clear();
+        keys.put(0, NO_DAY);
+    }
+}
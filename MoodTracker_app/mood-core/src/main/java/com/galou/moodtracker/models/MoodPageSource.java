@@ -0,0 +1,39 @@
+package com.galou.moodtracker.models;
+
+import java.util.List;
+
+/**
+ * <b>
+ *     Represents a source of moods that can be read page by page
+ * </b>
+ * <p>
+ *     Used by the history of the application, {@code MoodHistory}, to load only the moods displayed
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodRepository
+ */
+public interface MoodPageSource {
+
+    /**
+     * Return the total number of moods of the source
+     *
+     * @return
+     *      number of moods
+     */
+    int getCount();
+
+    /**
+     * Load a page of moods
+     *
+     * @param start
+     *      position of the first mood of the page, from the oldest to the newest
+     * @param count
+     *      number of moods of the page
+     * @return
+     *      the moods of the page
+     */
+    List<Mood> loadPage(int start, int count);
+}
@@ -0,0 +1,199 @@
+package com.galou.moodtracker.models;
+
+import java.io.Serializable;
+
+/**
+ * <b>
+ *     Count the moods of each level between two dates
+ * </b>
+ * <p>
+ *     The index keeps one Fenwick tree per level, indexed by the number of days since the first day of the index.
+ *     Adding a mood and counting the moods of a date range both take O(log n), n being the number of days covered.
+ *
+ *     The trees grow when a mood is added before the first day or after the last day of the index.
+ *
+ *     Implement the interface {@link Serializable}
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodBank#getNb(MoodLevel, int, int)
+ * @see EpochDay
+ */
+public class MoodRangeIndex implements Serializable {
+
+    /**
+     * Initial number of days covered by the index
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    // FOR DATA
+    /**
+     * Fenwick tree of each level, indexed by the ordinal of the level
+     * <p>
+     *     The trees are 1-based, the index 0 is not used
+     * </p>
+     */
+    private int[][] trees;
+    /**
+     * Epoch-day of the index 1 of the trees
+     */
+    private int firstDay;
+    /**
+     * Epoch-day of the oldest mood added
+     *
+     * @see MoodRangeIndex#getFirstDay()
+     */
+    private int firstMoodDay;
+    /**
+     * Number of days covered by the trees
+     */
+    private int capacity;
+    /**
+     * True if no mood has been added
+     */
+    private boolean empty;
+
+    /**
+     * Constructor, create an empty index
+     */
+    public MoodRangeIndex() {
+        this.capacity = INITIAL_CAPACITY;
+        this.trees = new int[MoodLevel.COUNT][INITIAL_CAPACITY + 1];
+        this.empty = true;
+    }
+
+    //----------------------//
+    //SET DATA
+    //----------------------//
+
+    /**
+     * Add a mood to the index
+     *
+     * @param level
+     *      level of the mood
+     * @param epochDay
+     *      date of the mood in epoch-day
+     */
+    public void add(MoodLevel level, int epochDay) {
+        if (empty) {
+            firstDay = epochDay;
+            firstMoodDay = epochDay;
+            empty = false;
+        } else if (epochDay < firstDay || epochDay >= firstDay + capacity) {
+            resize(Math.min(firstDay, epochDay), Math.max(firstDay + capacity - 1, epochDay));
+        }
+        firstMoodDay = Math.min(firstMoodDay, epochDay);
+        int[] tree = trees[level.ordinal()];
+        for (int i = epochDay - firstDay + 1; i <= capacity; i += i & -i) {
+            tree[i] += 1;
+        }
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the number of moods of a level between two dates
+     *
+     * @param level
+     *      level of the moods
+     * @param fromDay
+     *      first day of the range in epoch-day, included
+     * @param toDay
+     *      last day of the range in epoch-day, included
+     * @return
+     *      number of moods
+     */
+    public int count(MoodLevel level, int fromDay, int toDay) {
+        if (empty || toDay < fromDay) {
+            return 0;
+        }
+        int[] tree = trees[level.ordinal()];
+        return prefix(tree, toDay) - (fromDay > firstDay ? prefix(tree, fromDay - 1) : 0);
+    }
+
+    /**
+     * Return the day of the oldest mood of the index
+     * <p>
+     *     The trees may cover days before it, they grow with some room
+     * </p>
+     *
+     * @return
+     *      day in epoch-day, today if the index is empty
+     */
+    public int getFirstDay() {
+        return empty ? EpochDay.today() : firstMoodDay;
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Return the number of moods of a tree from the first day of the index to a day
+     *
+     * @param tree
+     *      Fenwick tree of a level
+     * @param epochDay
+     *      last day counted, included
+     * @return
+     *      number of moods
+     */
+    private int prefix(int[] tree, int epochDay) {
+        long position = (long) epochDay - firstDay + 1;
+        if (position <= 0) {
+            return 0;
+        }
+        int sum = 0;
+        for (int i = (int) Math.min(position, capacity); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Rebuild the trees to cover a larger range of days
+     * <p>
+     *     The capacity is at least doubled, so the trees are rebuilt O(log n) times
+     * </p>
+     *
+     * @param minDay
+     *      first day to cover
+     * @param maxDay
+     *      last day to cover
+     */
+    private void resize(int minDay, int maxDay) {
+        int newCapacity = capacity * 2;
+        while (newCapacity < maxDay - minDay + 1) {
+            newCapacity *= 2;
+        }
+        // the room is added on the side of the new day, moods are usually added in order
+        int newFirstDay = minDay < firstDay ? maxDay - newCapacity + 1 : minDay;
+        int shift = firstDay - newFirstDay;
+        for (int level = 0; level < trees.length; level++) {
+            int[] tree = trees[level];
+            // Fenwick tree to counts per day
+            for (int i = capacity; i > 0; i--) {
+                int parent = i + (i & -i);
+                if (parent <= capacity) {
+                    tree[parent] -= tree[i];
+                }
+            }
+            int[] newTree = new int[newCapacity + 1];
+            System.arraycopy(tree, 1, newTree, 1 + shift, capacity);
+            // counts per day to Fenwick tree
+            for (int i = 1; i <= newCapacity; i++) {
+                int parent = i + (i & -i);
+                if (parent <= newCapacity) {
+                    newTree[parent] += newTree[i];
+                }
+            }
+            trees[level] = newTree;
+        }
+        firstDay = newFirstDay;
+        capacity = newCapacity;
+    }
+}
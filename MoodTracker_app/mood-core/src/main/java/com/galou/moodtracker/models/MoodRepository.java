@@ -0,0 +1,97 @@
+package com.galou.moodtracker.models;
+
+import java.util.List;
+
+/**
+ * <b>
+ *     Represents the storage of the user's moods
+ * </b>
+ * <p>
+ *     The moods are stored from the oldest to the newest, one by day, with the temporary mood of the day apart.
+ *     The repository can be read page by page, or counted by level between two dates.
+ *
+ *     The methods access the storage, they are called on the background thread of the {@code MoodLoader} of the application
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodPageSource
+ */
+public interface MoodRepository extends MoodPageSource {
+
+    //----------------------//
+    //READ DATA
+    //----------------------//
+
+    /**
+     * Return the number of moods of a level entered between two dates
+     *
+     * @param level
+     *      level of the moods
+     * @param fromDay
+     *      first day in epoch-day, included
+     * @param toDay
+     *      last day in epoch-day, included
+     * @return
+     *      number of moods
+     */
+    int count(MoodLevel level, int fromDay, int toDay);
+
+    /**
+     * Add all the moods stored to a bank, from the oldest to the newest
+     *
+     * @param bank
+     *      bank in which the moods are added
+     *
+     * @see MoodBank#addMood(Mood)
+     */
+    void loadInto(MoodBank bank);
+
+    /**
+     * Return the temporary mood
+     *
+     * @return
+     *      the temporary mood, null if there is none
+     */
+    Mood readPending();
+
+    //----------------------//
+    //WRITE DATA
+    //----------------------//
+
+    /**
+     * Store a mood, it replaces the mood of the same day
+     *
+     * @param mood
+     *      mood to store
+     */
+    void insert(Mood mood);
+
+    /**
+     * Store a list of moods, all of them or none
+     *
+     * @param moods
+     *      moods to store, from the oldest to the newest, a mood replaces the previous one of the same day
+     */
+    void insertAll(List<Mood> moods);
+
+    /**
+     * Replace the temporary mood
+     *
+     * @param mood
+     *      new temporary mood
+     */
+    void writePending(Mood mood);
+
+    /**
+     * Store the temporary mood with the others and delete it, both or none
+     * <p>
+     *     After a crash, the mood is either still the temporary one or stored with the others, never both
+     * </p>
+     *
+     * @param mood
+     *      temporary mood of a previous day
+     */
+    void commitPending(Mood mood);
+}
@@ -0,0 +1,142 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     SQL of the database of the moods
+ * </b>
+ * <p>
+ *     The database contains two tables:
+ *     <li>moods, one row for each day, indexed by date and by level</li>
+ *     <li>pending, at most one row for the temporary mood of the day</li>
+ *
+ *     The unique index on the date keeps one mood per day. As every index of SQLite, its entries end with the _id:
+ *     it orders the moods by date then _id, the pages of the history are read on it.
+ *     The index on the level then the date is used by the counts of the pie chart.
+ *
+ *     The statements are plain SQL without any Android API: the application runs them with its {@code SqliteMoodRepository},
+ *     the benchmarks run the same ones on the JVM.
+ *     The moods are read with the columns {@link MoodSchema#MOOD_COLUMNS}: level, date, comment.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodRepository
+ * @see MoodPageKeys
+ */
+public final class MoodSchema {
+
+    /**
+     * Version of the schema
+     */
+    public static final int VERSION = 1;
+
+    // TABLES
+    public static final String TABLE_MOODS = "moods";
+    public static final String TABLE_PENDING = "pending";
+
+    // COLUMNS
+    public static final String COLUMN_ID = "_id";
+    public static final String COLUMN_EPOCH_DAY = "epoch_day";
+    public static final String COLUMN_LEVEL = "level";
+    public static final String COLUMN_COMMENT = "comment";
+
+    /**
+     * Columns read to create a Mood, in this order
+     */
+    public static final String[] MOOD_COLUMNS = {COLUMN_LEVEL, COLUMN_EPOCH_DAY, COLUMN_COMMENT};
+
+    //----------------------//
+    //CREATE
+    //----------------------//
+
+    public static final String CREATE_TABLE_MOODS = "CREATE TABLE " + TABLE_MOODS + " ("
+            + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + COLUMN_EPOCH_DAY + " INTEGER NOT NULL, "
+            + COLUMN_LEVEL + " INTEGER NOT NULL, "
+            + COLUMN_COMMENT + " TEXT NOT NULL DEFAULT '')";
+    public static final String CREATE_INDEX_DAY = "CREATE UNIQUE INDEX idx_moods_day ON " + TABLE_MOODS
+            + " (" + COLUMN_EPOCH_DAY + ")";
+    public static final String CREATE_INDEX_LEVEL_DAY = "CREATE INDEX idx_moods_level_day ON " + TABLE_MOODS
+            + " (" + COLUMN_LEVEL + ", " + COLUMN_EPOCH_DAY + ")";
+    public static final String CREATE_TABLE_PENDING = "CREATE TABLE " + TABLE_PENDING + " ("
+            + COLUMN_ID + " INTEGER PRIMARY KEY CHECK (" + COLUMN_ID + " = 0), "
+            + COLUMN_EPOCH_DAY + " INTEGER NOT NULL, "
+            + COLUMN_LEVEL + " INTEGER NOT NULL, "
+            + COLUMN_COMMENT + " TEXT NOT NULL DEFAULT '')";
+
+    /**
+     * Statements creating the tables and their indexes, in order
+     */
+    public static final String[] CREATE_STATEMENTS = {
+            CREATE_TABLE_MOODS, CREATE_INDEX_DAY, CREATE_INDEX_LEVEL_DAY, CREATE_TABLE_PENDING
+    };
+
+    //----------------------//
+    //READ
+    //----------------------//
+
+    /**
+     * Order of the moods, from the oldest to the newest, read on the unique index of the dates
+     */
+    public static final String ORDER = COLUMN_EPOCH_DAY;
+    /**
+     * Select all the moods, from the oldest to the newest
+     */
+    public static final String SELECT_ALL = "SELECT " + COLUMN_LEVEL + ", " + COLUMN_EPOCH_DAY + ", " + COLUMN_COMMENT
+            + " FROM " + TABLE_MOODS + " ORDER BY " + ORDER;
+    /**
+     * Select a page of moods: the moods after a day, skipping a number of them, then limited to the size of the page
+     * <p>
+     *     Parameters: day before the page, number of moods skipped, number of moods of the page
+     * </p>
+     *
+     * @see MoodPageKeys
+     */
+    public static final String SELECT_PAGE = "SELECT " + COLUMN_LEVEL + ", " + COLUMN_EPOCH_DAY + ", " + COLUMN_COMMENT
+            + " FROM " + TABLE_MOODS + " WHERE " + COLUMN_EPOCH_DAY + " > ? ORDER BY " + ORDER + " LIMIT ?, ?";
+    /**
+     * Count the moods
+     */
+    public static final String COUNT_MOODS = "SELECT COUNT(*) FROM " + TABLE_MOODS;
+    /**
+     * Count the moods of a level between two days included
+     * <p>
+     *     Parameters: first day, last day, level
+     * </p>
+     */
+    public static final String COUNT_LEVEL_BETWEEN = "SELECT COUNT(*) FROM " + TABLE_MOODS
+            + " WHERE " + COLUMN_EPOCH_DAY + " BETWEEN ? AND ? AND " + COLUMN_LEVEL + " = ?";
+
+    //----------------------//
+    //WRITE
+    //----------------------//
+
+    /**
+     * Store a mood, it replaces the mood of the same day
+     * <p>
+     *     Parameters: day, level, comment
+     * </p>
+     */
+    public static final String INSERT_MOOD = "INSERT OR REPLACE INTO " + TABLE_MOODS
+            + " (" + COLUMN_EPOCH_DAY + ", " + COLUMN_LEVEL + ", " + COLUMN_COMMENT + ") VALUES (?, ?, ?)";
+    /**
+     * Replace the temporary mood
+     * <p>
+     *     Parameters: day, level, comment
+     * </p>
+     */
+    public static final String WRITE_PENDING = "INSERT OR REPLACE INTO " + TABLE_PENDING
+            + " (" + COLUMN_ID + ", " + COLUMN_EPOCH_DAY + ", " + COLUMN_LEVEL + ", " + COLUMN_COMMENT
+            + ") VALUES (0, ?, ?, ?)";
+    /**
+     * Delete the temporary mood
+     */
+    public static final String CLEAR_PENDING = "DELETE FROM " + TABLE_PENDING;
+
+    /**
+     * Constructor, the class only contains constants
+     */
+    private MoodSchema() {
+    }
+}
@@ -0,0 +1,213 @@
+package com.galou.moodtracker.models;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Calendar;
+
+/**
+ * <b>
+ *     Write and read a Mood in JSON without reflection
+ * </b>
+ * <p>
+ *     A mood is written as its level ordinal, its date in epoch-day and its comment if it has one:
+ *     {"level":3,"epochDay":17800,"comment":"..."}
+ *
+ *     The previous versions saved the date of a mood as a Calendar,
+ *     with the fields year, month, dayOfMonth, hourOfDay, minute and second,
+ *     and the level of a mood as a drawable and an ID.
+ *     This adapter reads this format as well, the other fields are skipped.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see Mood
+ * @see MoodGson
+ * @see EpochDay
+ * @see MoodLevel#fromLegacy(int, int)
+ */
+public class MoodTypeAdapter extends TypeAdapter<Mood> {
+
+    /**
+     * Write a Mood in JSON
+     *
+     * @param out
+     *      writer of the JSON
+     * @param mood
+     *      mood to write
+     * @throws IOException
+     *      if the JSON can't be written
+     */
+    @Override
+    public void write(JsonWriter out, Mood mood) throws IOException {
+        if (mood == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("level").value(mood.getLevel().ordinal());
+        out.name("epochDay").value(mood.getEpochDay());
+        String comment = mood.getComment();
+        if (comment != null && !comment.isEmpty()) {
+            out.name("comment").value(comment);
+        }
+        out.endObject();
+    }
+
+    /**
+     * Read a Mood from its JSON
+     *
+     * @param in
+     *      reader of the JSON
+     * @return
+     *      the mood read
+     * @throws IOException
+     *      if the JSON is not a mood
+     * @throws JsonParseException
+     *      if the level of the mood is unknown
+     */
+    @Override
+    public Mood read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        MoodLevel level = null;
+        int epochDay = 0;
+        boolean hasDate = false;
+        String comment = "";
+        int legacyDrawable = 0;
+        int legacyId = -1;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "level":
+                    level = readLevel(in);
+                    break;
+                case "epochDay":
+                    epochDay = in.nextInt();
+                    hasDate = true;
+                    break;
+                case "date":
+                    epochDay = readLegacyDate(in);
+                    hasDate = true;
+                    break;
+                case "comment":
+                    comment = in.nextString();
+                    break;
+                case "mood":
+                    legacyDrawable = in.nextInt();
+                    break;
+                case "id":
+                    legacyId = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        if (!hasDate) {
+            throw new IOException("Mood without date at " + in.getPath());
+        }
+        if (level == null) {
+            level = MoodLevel.fromLegacy(legacyDrawable, legacyId);
+        }
+        return new Mood(level, epochDay, comment);
+    }
+
+    /**
+     * Read the level of a mood, written as its ordinal or as its name
+     *
+     * @param in
+     *      reader positioned on the level
+     * @return
+     *      the level read
+     * @throws IOException
+     *      if the JSON can't be read
+     * @throws JsonParseException
+     *      if the ordinal or the name is not one of a level
+     */
+    private static MoodLevel readLevel(JsonReader in) throws IOException {
+        String path = in.getPath();
+        if (in.peek() == JsonToken.STRING) {
+            String name = in.nextString();
+            try {
+                return MoodLevel.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException("Unknown mood level " + name + " at " + path, e);
+            }
+        }
+        int ordinal = in.nextInt();
+        if (ordinal < 0 || ordinal >= MoodLevel.COUNT) {
+            throw new JsonParseException("Unknown mood level " + ordinal + " at " + path);
+        }
+        return MoodLevel.fromOrdinal(ordinal);
+    }
+
+    /**
+     * Read a Calendar saved in JSON by the previous versions and convert it in epoch-day
+     *
+     * @param in
+     *      reader positioned on the Calendar
+     * @return
+     *      epoch-day of the date
+     * @throws IOException
+     *      if the JSON is not a Calendar
+     */
+    private static int readLegacyDate(JsonReader in) throws IOException {
+        int year = 0;
+        int month = 0;
+        int dayOfMonth = 0;
+        int hourOfDay = 0;
+        int minute = 0;
+        int second = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "year":
+                    year = in.nextInt();
+                    break;
+                case "month":
+                    month = in.nextInt();
+                    break;
+                case "dayOfMonth":
+                    dayOfMonth = in.nextInt();
+                    break;
+                case "hourOfDay":
+                    hourOfDay = in.nextInt();
+                    break;
+                case "minute":
+                    minute = in.nextInt();
+                    break;
+                case "second":
+                    second = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth, hourOfDay, minute, second);
+        return EpochDay.fromCalendar(calendar);
+    }
+}
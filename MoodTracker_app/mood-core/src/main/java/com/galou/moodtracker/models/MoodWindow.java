@@ -0,0 +1,44 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     Represents a period of time ending today on which the moods are counted
+ * </b>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodBank#getNb(MoodLevel, MoodWindow)
+ * @see WindowedMoodCounts
+ */
+public enum MoodWindow {
+
+    LAST_7_DAYS(7),
+    LAST_30_DAYS(30),
+    LAST_365_DAYS(365),
+    ALL_TIME(0);
+
+    /**
+     * Number of days of the window, 0 if the moods are never removed from the window
+     */
+    private final int days;
+
+    /**
+     * Constructor
+     *
+     * @param days
+     *      number of days of the window, 0 for all time
+     */
+    MoodWindow(int days) {
+        this.days = days;
+    }
+
+    /**
+     * Return the number of days of the window
+     * @return
+     *      number of days, 0 for all time
+     */
+    public int getDays() {
+        return days;
+    }
+}
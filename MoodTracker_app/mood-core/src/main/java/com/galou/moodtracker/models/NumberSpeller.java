@@ -0,0 +1,47 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     Represents the conversion of numbers into words in a language
+ * </b>
+ * <p>
+ *     The implementations keep the words they build, so a number is only spelled once.
+ *     They are shared and can be called from any thread.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see NumberToWords#forLocale(java.util.Locale)
+ * @see FrenchNumberSpeller
+ * @see EnglishNumberSpeller
+ */
+public interface NumberSpeller {
+
+    /**
+     * Largest number that can be spelled
+     */
+    long MAX_NUMBER = 999999999999L;
+
+    /**
+     * Convert a number into words
+     *
+     * @param number
+     *      number to convert, from 0 to {@link NumberSpeller#MAX_NUMBER}
+     * @return
+     *      the number in words
+     */
+    String spell(long number);
+
+    /**
+     * Write a number in words at the end of a StringBuilder
+     *
+     * @param builder
+     *      StringBuilder in which the number is written
+     * @param number
+     *      number to convert, from 0 to {@link NumberSpeller#MAX_NUMBER}
+     * @return
+     *      the StringBuilder
+     */
+    StringBuilder appendTo(StringBuilder builder, long number);
+}
@@ -0,0 +1,45 @@
+package com.galou.moodtracker.models;
+
+import java.util.Locale;
+
+/**
+ * <b>
+ *     Choose how the numbers are converted into words
+ * </b>
+ * <p>
+ *     The speller matches the language of the texts of the application:
+ *     English for an English locale, French otherwise, French being the language of the default resources.
+ *     It is chosen once for a configuration, then used for all the numbers.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see NumberSpeller
+ */
+public final class NumberToWords {
+
+    /**
+     * Constructor, the class only contains static methods
+     */
+    private NumberToWords() {
+    }
+
+    /**
+     * Return the speller of the language of a locale
+     *
+     * @param locale
+     *      locale of the configuration of the application
+     * @return
+     *      the speller shared by the application for this language
+     *
+     * @see FrenchNumberSpeller
+     * @see EnglishNumberSpeller
+     */
+    public static NumberSpeller forLocale(Locale locale) {
+        if (locale != null && Locale.ENGLISH.getLanguage().equals(locale.getLanguage())) {
+            return EnglishNumberSpeller.INSTANCE;
+        }
+        return FrenchNumberSpeller.INSTANCE;
+    }
+}
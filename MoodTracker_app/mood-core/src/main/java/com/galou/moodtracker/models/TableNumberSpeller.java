@@ -0,0 +1,167 @@
+package com.galou.moodtracker.models;
+
+/**
+ * <b>
+ *     Spell numbers from a table of the words of the numbers from 0 to 999
+ * </b>
+ * <p>
+ *     The number is split in groups of three digits by divisions, each group is read from the table,
+ *     built the first time a group is needed. The languages only tell how to spell a group
+ *     and how to join the groups with their units.
+ *
+ *     The numbers below 1000 are returned from the table without any allocation,
+ *     the larger numbers are written in a StringBuilder reused by the thread.
+ *
+ *     Implement the interface {@link NumberSpeller}
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see FrenchNumberSpeller
+ * @see EnglishNumberSpeller
+ */
+abstract class TableNumberSpeller implements NumberSpeller {
+
+    // FOR DATA
+    /**
+     * Words of the numbers from 0 to 999, 0 being empty
+     * <p>
+     *     Each entry is built the first time it is needed.
+     *     Strings are immutable, so a thread reading an entry built by another one reads it whole
+     * </p>
+     *
+     * @see TableNumberSpeller#lessThanOneThousand(int)
+     */
+    private final String[] lessThanOneThousand = new String[1000];
+
+    /**
+     * StringBuilder of each thread, reused to write the numbers from 1000
+     *
+     * @see TableNumberSpeller#spell(long)
+     */
+    private final ThreadLocal<StringBuilder> builders = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(64);
+        }
+    };
+
+    //----------------------//
+    //SPELL
+    //----------------------//
+
+    /**
+     * Convert a number into words, the numbers below 1000 are read from the table
+     *
+     * @param number
+     *      number to convert, from 0 to {@link NumberSpeller#MAX_NUMBER}
+     * @return
+     *      the number in words
+     */
+    @Override
+    public String spell(long number) {
+        if (number == 0) {
+            return getZero();
+        }
+        if (number > 0 && number < 1000) {
+            return lessThanOneThousand((int) number);
+        }
+        StringBuilder builder = builders.get();
+        builder.setLength(0);
+        return appendTo(builder, number).toString();
+    }
+
+    /**
+     * Write a number in words at the end of a StringBuilder
+     * <p>
+     *     Nothing is allocated once the words of the groups of the number are in the table,
+     *     if the StringBuilder is large enough
+     * </p>
+     *
+     * @param builder
+     *      StringBuilder in which the number is written
+     * @param number
+     *      number to convert, from 0 to {@link NumberSpeller#MAX_NUMBER}
+     * @return
+     *      the StringBuilder
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder builder, long number) {
+        if (number < 0 || number > MAX_NUMBER) {
+            throw new IllegalArgumentException("Number out of range: " + number);
+        }
+        if (number == 0) {
+            return builder.append(getZero());
+        }
+        appendGroups(builder,
+                (int) (number / 1000000000L),
+                (int) (number / 1000000L % 1000),
+                (int) (number / 1000L % 1000),
+                (int) (number % 1000));
+        return builder;
+    }
+
+    //----------------------//
+    //LANGUAGE
+    //----------------------//
+
+    /**
+     * Return the word of 0
+     *
+     * @return
+     *      the word of 0
+     */
+    protected abstract String getZero();
+
+    /**
+     * Spell a number from 1 to 999, only called once for each number
+     *
+     * @param number
+     *      number to convert, from 0 to 999
+     * @return
+     *      the number in words, empty for 0
+     */
+    protected abstract String buildLessThanOneThousand(int number);
+
+    /**
+     * Write the groups of three digits of a number with their units
+     *
+     * @param builder
+     *      StringBuilder in which the number is written
+     * @param billions
+     *      group of the billions
+     * @param millions
+     *      group of the millions
+     * @param thousands
+     *      group of the thousands
+     * @param units
+     *      last group
+     *
+     * @see TableNumberSpeller#lessThanOneThousand(int)
+     */
+    protected abstract void appendGroups(StringBuilder builder, int billions, int millions, int thousands, int units);
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Return the words of a number from 0 to 999, from the table
+     *
+     * @param number
+     *      number to convert, has to be between 0 and 999
+     * @return
+     *      a string of the number converted in word, empty for 0
+     *
+     * @see TableNumberSpeller#buildLessThanOneThousand(int)
+     */
+    protected final String lessThanOneThousand(int number) {
+        String words = lessThanOneThousand[number];
+        if (words == null) {
+            words = buildLessThanOneThousand(number);
+            lessThanOneThousand[number] = words;
+        }
+        return words;
+    }
+}
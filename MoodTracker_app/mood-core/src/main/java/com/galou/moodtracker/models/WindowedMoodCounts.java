@@ -0,0 +1,194 @@
+package com.galou.moodtracker.models;
+
+import java.io.Serializable;
+
+/**
+ * <b>
+ *     Count the moods of each level added during the last days
+ * </b>
+ * <p>
+ *     The moods of the window are kept in a queue, from the oldest to the newest.
+ *     When the window moves, the moods that are too old are removed from the queue and their level is decremented,
+ *     so each mood is added and removed once.
+ *
+ *     The moods have to be added from the oldest to the newest, as they are saved in the {@link MoodRepository}.
+ *
+ *     Implement the interface {@link Serializable}
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see MoodWindow
+ * @see MoodBank
+ */
+public class WindowedMoodCounts implements Serializable {
+
+    /**
+     * Initial capacity of the queue
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    // FOR DATA
+    /**
+     * Number of days of the window, 0 if the moods are never removed
+     */
+    private final int days;
+    /**
+     * Number of moods of each level in the window, indexed by the ordinal of the level
+     */
+    private final int[] nbByLevel = new int[MoodLevel.COUNT];
+    /**
+     * Date in epoch-day of the moods of the window, circular queue
+     */
+    private int[] queueDays;
+    /**
+     * Level of the moods of the window, circular queue
+     *
+     * @see WindowedMoodCounts#queueDays
+     */
+    private byte[] queueLevels;
+    /**
+     * Index of the oldest mood of the queue
+     */
+    private int head;
+    /**
+     * Number of moods in the queue
+     */
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param days
+     *      number of days of the window, 0 if the moods are never removed
+     */
+    public WindowedMoodCounts(int days) {
+        this.days = days;
+        if (days > 0) {
+            this.queueDays = new int[INITIAL_CAPACITY];
+            this.queueLevels = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Constructor, create the counts of a window
+     *
+     * @param window
+     *      window of the counts
+     */
+    public WindowedMoodCounts(MoodWindow window) {
+        this(window.getDays());
+    }
+
+    //----------------------//
+    //SET DATA
+    //----------------------//
+
+    /**
+     * Add a mood to the window
+     * <p>
+     *     The moods older than the window of the last mood added are removed
+     * </p>
+     *
+     * @param level
+     *      level of the mood
+     * @param epochDay
+     *      date of the mood in epoch-day
+     */
+    public void add(MoodLevel level, int epochDay) {
+        if (days > 0) {
+            advanceTo(epochDay);
+            if (size == queueDays.length) {
+                grow();
+            }
+            int tail = (head + size) % queueDays.length;
+            queueDays[tail] = epochDay;
+            queueLevels[tail] = (byte) level.ordinal();
+            size += 1;
+        }
+        nbByLevel[level.ordinal()] += 1;
+    }
+
+    /**
+     * Move the window so it ends at the given day and remove the moods that are too old
+     *
+     * @param today
+     *      last day of the window, in epoch-day
+     */
+    public void advanceTo(int today) {
+        if (days <= 0) {
+            return;
+        }
+        while (size > 0 && isExpired(queueDays[head], today)) {
+            nbByLevel[queueLevels[head]] -= 1;
+            head = (head + 1) % queueDays.length;
+            size -= 1;
+        }
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return the number of moods of a level in the window
+     *
+     * @param level
+     *      level of the moods
+     * @return
+     *      number of moods
+     */
+    public int get(MoodLevel level) {
+        return nbByLevel[level.ordinal()];
+    }
+
+    /**
+     * Return the number of moods of all levels in the window
+     *
+     * @return
+     *      number of moods
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int nb : nbByLevel) {
+            total += nb;
+        }
+        return total;
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Return true if a mood is out of the window ending at the given day
+     *
+     * @param epochDay
+     *      date of the mood
+     * @param today
+     *      last day of the window
+     * @return
+     *      true if the mood is too old
+     */
+    private boolean isExpired(int epochDay, int today) {
+        return epochDay <= today - days;
+    }
+
+    /**
+     * Double the capacity of the queue
+     */
+    private void grow() {
+        int capacity = queueDays.length * 2;
+        int[] newDays = new int[capacity];
+        byte[] newLevels = new byte[capacity];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % queueDays.length;
+            newDays[i] = queueDays[index];
+            newLevels[i] = queueLevels[index];
+        }
+        queueDays = newDays;
+        queueLevels = newLevels;
+        head = 0;
+    }
+}
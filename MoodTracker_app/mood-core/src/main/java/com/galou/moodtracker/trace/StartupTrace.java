@@ -0,0 +1,319 @@
+package com.galou.moodtracker.trace;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <b>
+ *     Measure the phases of the start of the application
+ * </b>
+ * <p>
+ *     The time is counted from the creation of the trace until {@link StartupTrace#finish()}, when the first screen is displayed.
+ *     Two kinds of measures are kept:
+ *     <li>the sections: a phase executed on one thread, between {@link StartupTrace#begin(String)} and {@link Section#end()}.
+ *     The sections of the same name are added, their number is counted</li>
+ *     <li>the marks: the time at which an event happened, as the data loaded on the background thread</li>
+ *
+ *     The trace can be written by several threads. Once finished, it does not record anything anymore:
+ *     the sections begun later cost nothing.
+ * </p>
+ *
+ * @author galou
+ * @version 1.0
+ *
+ * @see Section
+ */
+public class StartupTrace {
+
+    /**
+     * Number of nanoseconds in a millisecond
+     */
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    /**
+     * Listener told when the sections begin and end, to forward them to the tracing tool of the platform
+     */
+    public interface Listener {
+
+        /**
+         * Called when a section begins, on its thread
+         *
+         * @param name
+         *      name of the section
+         */
+        void onSectionBegin(String name);
+
+        /**
+         * Called when a section ends, on the thread on which it began
+         *
+         * @param name
+         *      name of the section
+         */
+        void onSectionEnd(String name);
+    }
+
+    /**
+     * <b>
+     *     A phase being measured
+     * </b>
+     * <p>
+     *     Ended on the thread on which it began, in a finally block
+     * </p>
+     *
+     * @see StartupTrace#begin(String)
+     */
+    public static final class Section {
+
+        /**
+         * Trace in which the section is recorded, null if the trace was already finished
+         */
+        private final StartupTrace trace;
+        /**
+         * Name of the section
+         */
+        private final String name;
+        /**
+         * Time in nanoseconds at which the section began
+         */
+        private final long startNanos;
+
+        /**
+         * Constructor
+         *
+         * @param trace
+         *      trace in which the section is recorded, null if it is not recorded
+         * @param name
+         *      name of the section
+         * @param startNanos
+         *      time at which the section began
+         */
+        private Section(StartupTrace trace, String name, long startNanos) {
+            this.trace = trace;
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * End the section and add its duration to the phase of its name
+         */
+        public void end() {
+            if (trace != null) {
+                trace.endSection(name, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /**
+     * Section returned once the trace is finished, it does not record anything
+     */
+    private static final Section NO_SECTION = new Section(null, null, 0);
+
+    // FOR DATA
+    /**
+     * Time in nanoseconds at which the trace was created
+     */
+    private final long startNanos;
+    /**
+     * Total duration and number of the sections of each name, in the order of their first end, guarded by the trace
+     */
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+    /**
+     * Time of each mark since the creation of the trace, in the order of the marks, guarded by the trace
+     */
+    private final Map<String, Long> marks = new LinkedHashMap<>();
+    /**
+     * Duration of the startup, -1 until the trace is finished
+     *
+     * @see StartupTrace#finish()
+     */
+    private volatile long totalNanos = -1;
+    /**
+     * Listener told of the sections, may be null
+     */
+    private volatile Listener listener;
+
+    /**
+     * Constructor, the startup is measured from now
+     */
+    public StartupTrace() {
+        this.startNanos = System.nanoTime();
+    }
+
+    //----------------------//
+    //RECORD
+    //----------------------//
+
+    /**
+     * Set the listener told when the sections begin and end
+     *
+     * @param listener
+     *      listener of the sections, null to remove it
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Begin a section, to end on the same thread
+     *
+     * @param name
+     *      name of the phase
+     * @return
+     *      the section to end, which does not record anything if the trace is finished
+     *
+     * @see Section#end()
+     */
+    public Section begin(String name) {
+        if (isFinished()) {
+            return NO_SECTION;
+        }
+        Listener listener = this.listener;
+        if (listener != null) {
+            listener.onSectionBegin(name);
+        }
+        return new Section(this, name, System.nanoTime());
+    }
+
+    /**
+     * Record the time of an event, only its first time is kept
+     *
+     * @param name
+     *      name of the event
+     */
+    public void mark(String name) {
+        if (isFinished()) {
+            return;
+        }
+        long nanos = System.nanoTime() - startNanos;
+        synchronized (this) {
+            if (!marks.containsKey(name)) {
+                marks.put(name, nanos);
+            }
+        }
+    }
+
+    /**
+     * End the startup, nothing is recorded afterwards
+     *
+     * @return
+     *      true the first time, when the trace is finished by this call
+     */
+    public synchronized boolean finish() {
+        if (isFinished()) {
+            return false;
+        }
+        totalNanos = System.nanoTime() - startNanos;
+        return true;
+    }
+
+    //----------------------//
+    //GETTERS
+    //----------------------//
+
+    /**
+     * Return true if the startup is over
+     * @return
+     *      true once {@link StartupTrace#finish()} has been called
+     */
+    public boolean isFinished() {
+        return totalNanos >= 0;
+    }
+
+    /**
+     * Return the duration of the startup
+     * @return
+     *      duration in nanoseconds, or the time elapsed since the creation of the trace if it is not finished
+     */
+    public long getTotalNanos() {
+        long total = totalNanos;
+        return total >= 0 ? total : System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Return the total duration of the sections of a name
+     *
+     * @param name
+     *      name of the phase
+     * @return
+     *      duration in nanoseconds, 0 if no section of this name ended
+     */
+    public synchronized long getPhaseNanos(String name) {
+        long[] phase = phases.get(name);
+        return phase != null ? phase[0] : 0;
+    }
+
+    /**
+     * Return the number of sections of a name
+     *
+     * @param name
+     *      name of the phase
+     * @return
+     *      number of sections ended
+     */
+    public synchronized int getPhaseCount(String name) {
+        long[] phase = phases.get(name);
+        return phase != null ? (int) phase[1] : 0;
+    }
+
+    /**
+     * Return the time of an event since the creation of the trace
+     *
+     * @param name
+     *      name of the event
+     * @return
+     *      time in nanoseconds, -1 if the event has not been marked
+     */
+    public synchronized long getMarkNanos(String name) {
+        Long nanos = marks.get(name);
+        return nanos != null ? nanos : -1;
+    }
+
+    /**
+     * Write the phases and the marks of the trace, one by line
+     * @return
+     *      the text of the trace
+     */
+    public synchronized String dump() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "Startup: %.1f ms%s%n",
+                getTotalNanos() / NANOS_PER_MILLI, isFinished() ? "" : " (not finished)"));
+        for (Map.Entry<String, long[]> phase : phases.entrySet()) {
+            builder.append(String.format(Locale.US, "  %-36s %8.1f ms  x%d%n",
+                    phase.getKey(), phase.getValue()[0] / NANOS_PER_MILLI, phase.getValue()[1]));
+        }
+        for (Map.Entry<String, Long> mark : marks.entrySet()) {
+            builder.append(String.format(Locale.US, "  %-36s at %5.1f ms%n",
+                    mark.getKey(), mark.getValue() / NANOS_PER_MILLI));
+        }
+        return builder.toString();
+    }
+
+    //----------------------//
+    //UTILS
+    //----------------------//
+
+    /**
+     * Add the duration of a section to its phase and tell the listener
+     *
+     * @param name
+     *      name of the section
+     * @param nanos
+     *      duration of the section
+     */
+    private void endSection(String name, long nanos) {
+        Listener listener = this.listener;
+        if (listener != null) {
+            listener.onSectionEnd(name);
+        }
+        synchronized (this) {
+            long[] phase = phases.get(name);
+            if (phase == null) {
+                phase = new long[2];
+                phases.put(name, phase);
+            }
+            phase[0] += nanos;
+            phase[1] += 1;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.galou.moodtracker.metrics;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of the {@link MetricsRegistry}: buckets of the histograms, updates from several threads,
+ * no allocation when a value is recorded, the exported format, and the values kept when the export fails.
+ */
+public class MetricsRegistryTest {
+
+    private static final long[] BOUNDS = {10, 100, 1000};
+
+    @Test
+    public void metrics_areCreatedOnceByName() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        assertSame(registry.counter("writes"), registry.counter("writes"));
+        assertSame(registry.histogram("bind", BOUNDS), registry.histogram("bind", MetricsRegistry.MICROS_BOUNDS));
+    }
+
+    @Test
+    public void histogram_countsValuesInTheirBucket() {
+        Histogram histogram = new MetricsRegistry().histogram("bind", BOUNDS);
+
+        histogram.record(0);
+        histogram.record(10);
+        histogram.record(11);
+        histogram.record(1000);
+        histogram.record(1001);
+
+        assertEquals(4, histogram.getBucketCount());
+        assertEquals(2, histogram.getBucket(0));
+        assertEquals(1, histogram.getBucket(1));
+        assertEquals(1, histogram.getBucket(2));
+        assertEquals(1, histogram.getBucket(3));
+        assertEquals(Long.MAX_VALUE, histogram.getBound(3));
+        assertEquals(5, histogram.getCount());
+        assertEquals(2022, histogram.getSum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void histogram_refusesBoundsNotIncreasing() {
+        new MetricsRegistry().histogram("bind", new long[]{10, 10});
+    }
+
+    @Test
+    public void updates_fromSeveralThreadsAreAllCounted() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        final Counter counter = registry.counter("writes");
+        final Histogram histogram = registry.histogram("bind", BOUNDS);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 100000; i++) {
+                        counter.increment();
+                        histogram.record(i % 2000);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400000, counter.get());
+        assertEquals(400000, histogram.getCount());
+    }
+
+    @Test
+    public void record_doesNotAllocate() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("writes");
+        Histogram histogram = registry.histogram("bind", MetricsRegistry.MICROS_BOUNDS);
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        measure(threadBean, threadId, counter, histogram);
+
+        long baseline = measure(threadBean, threadId, null, null);
+        long allocated = measure(threadBean, threadId, counter, histogram);
+
+        assertEquals("bytes allocated by 20000 updates", 0, Math.max(0, allocated - baseline));
+    }
+
+    private long measure(com.sun.management.ThreadMXBean threadBean, long threadId, Counter counter, Histogram histogram) {
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 20000; i++) {
+            if (counter != null) {
+                counter.add(i);
+                histogram.recordMicrosSince(System.nanoTime() - i);
+            }
+        }
+        return threadBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @Test
+    public void exportTo_writesUpdatedMetricsAndRemovesThem() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("pending.writes").add(3);
+        registry.counter("pending.skipped");
+        Histogram histogram = registry.histogram("history.bindMicros", BOUNDS);
+        histogram.record(5);
+        histogram.record(7);
+        histogram.record(5000);
+
+        StringBuilder out = new StringBuilder();
+        assertEquals(2, registry.exportTo(out, 1234L));
+
+        assertEquals("#1234\n"
+                + "c pending.writes 3\n"
+                + "h history.bindMicros 3 5012 10:2,inf:1\n", out.toString());
+        assertEquals(0, registry.counter("pending.writes").get());
+        assertEquals(0, histogram.getCount());
+
+        StringBuilder empty = new StringBuilder();
+        assertEquals(0, registry.exportTo(empty, 5678L));
+        assertEquals("", empty.toString());
+    }
+
+    @Test
+    public void exportToFile_appendsSnapshots() throws IOException {
+        File file = File.createTempFile("metrics", ".txt");
+        try {
+            MetricsRegistry registry = new MetricsRegistry();
+            registry.counter("bank.loads").increment();
+            registry.exportTo(file, 1L);
+            registry.counter("bank.loads").increment();
+            registry.exportTo(file, 2L);
+
+            List<String> lines = Files.readAllLines(file.toPath());
+            assertEquals(4, lines.size());
+            assertEquals("#1", lines.get(0));
+            assertEquals("c bank.loads 1", lines.get(1));
+            assertEquals("#2", lines.get(2));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void exportTo_failedWrite_keepsValues() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("pending.writes").add(3);
+        registry.histogram("history.bindMicros", BOUNDS).record(5);
+
+        try {
+            registry.exportTo(new Appendable() {
+                @Override
+                public Appendable append(CharSequence csq) throws IOException {
+                    throw new IOException("Disk full");
+                }
+
+                @Override
+                public Appendable append(CharSequence csq, int start, int end) throws IOException {
+                    throw new IOException("Disk full");
+                }
+
+                @Override
+                public Appendable append(char c) throws IOException {
+                    throw new IOException("Disk full");
+                }
+            }, 1L);
+            fail("The export should fail");
+        } catch (IOException e) {
+            assertEquals(3, registry.counter("pending.writes").get());
+            assertEquals(1, registry.histogram("history.bindMicros", BOUNDS).getCount());
+        }
+    }
+
+    @Test
+    public void exportTo_keepsUpdatesMadeDuringTheWrite() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        final Counter counter = registry.counter("pending.writes");
+        final Histogram histogram = registry.histogram("history.bindMicros", BOUNDS);
+        counter.add(3);
+        histogram.record(5);
+
+        final StringBuilder out = new StringBuilder();
+        // a counter and a histogram are updated while the date of the snapshot is written
+        registry.exportTo(new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                out.append(csq);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                out.append(csq, start, end);
+                return this;
+            }
+
+            @Override
+            public Appendable append(char c) {
+                if (c == '#') {
+                    counter.increment();
+                    histogram.record(50);
+                }
+                out.append(c);
+                return this;
+            }
+        }, 1L);
+
+        assertTrue(out.toString().contains("c pending.writes 3\n"));
+        assertEquals(1, counter.get());
+        assertEquals(1, histogram.getCount());
+        assertEquals(1, histogram.getBucket(1));
+        assertEquals(50, histogram.getSum());
+    }
+
+    @Test
+    public void exportToFile_rotatesLargeFile() throws IOException {
+        File file = File.createTempFile("metrics", ".txt");
+        File rotated = new File(file.getPath() + MetricsRegistry.ROTATED_SUFFIX);
+        try {
+            MetricsRegistry registry = new MetricsRegistry();
+            registry.counter("bank.loads").increment();
+            registry.exportTo(file, 1L, 10);
+            registry.counter("bank.loads").increment();
+            registry.exportTo(file, 2L, 10);
+            registry.counter("bank.loads").increment();
+            registry.exportTo(file, 3L, 10);
+
+            assertEquals(2, Files.readAllLines(file.toPath()).size());
+            assertEquals("#3", Files.readAllLines(file.toPath()).get(0));
+            assertEquals("#2", Files.readAllLines(rotated.toPath()).get(0));
+        } finally {
+            file.delete();
+            rotated.delete();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.galou.moodtracker.models;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of the {@link EnglishNumberSpeller} and of the choice of the speller from the locale.
+ */
+public class EnglishNumberSpellerTest {
+
+    private static final NumberSpeller SPELLER = EnglishNumberSpeller.INSTANCE;
+
+    @Test
+    public void spell_writesNumbersInEnglish() {
+        assertEquals("zero", SPELLER.spell(0));
+        assertEquals("seven", SPELLER.spell(7));
+        assertEquals("nineteen", SPELLER.spell(19));
+        assertEquals("forty", SPELLER.spell(40));
+        assertEquals("seventy-one", SPELLER.spell(71));
+        assertEquals("one hundred", SPELLER.spell(100));
+        assertEquals("nine hundred ninety-nine", SPELLER.spell(999));
+        assertEquals("one thousand", SPELLER.spell(1000));
+        assertEquals("two thousand one", SPELLER.spell(2001));
+        assertEquals("one million three hundred thousand twelve", SPELLER.spell(1300012));
+        assertEquals("five billion six", SPELLER.spell(5000000006L));
+        assertEquals("nine hundred ninety-nine billion nine hundred ninety-nine million "
+                + "nine hundred ninety-nine thousand nine hundred ninety-nine", SPELLER.spell(NumberSpeller.MAX_NUMBER));
+    }
+
+    @Test
+    public void appendTo_writesAfterContent() {
+        StringBuilder builder = new StringBuilder("Week ");
+
+        SPELLER.appendTo(builder, 1001).append('!');
+
+        assertEquals("Week one thousand one!", builder.toString());
+    }
+
+    @Test
+    public void forLocale_choosesSpellerOfLanguage() {
+        assertSame(EnglishNumberSpeller.INSTANCE, NumberToWords.forLocale(Locale.UK));
+        assertSame(EnglishNumberSpeller.INSTANCE, NumberToWords.forLocale(Locale.US));
+        assertSame(FrenchNumberSpeller.INSTANCE, NumberToWords.forLocale(Locale.FRANCE));
+        // the default resources are in French
+        assertSame(FrenchNumberSpeller.INSTANCE, NumberToWords.forLocale(Locale.GERMANY));
+    }
+}
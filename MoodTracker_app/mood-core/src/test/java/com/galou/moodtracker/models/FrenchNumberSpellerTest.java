@@ -0,0 +1,80 @@
+package com.galou.moodtracker.models;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of the {@link FrenchNumberSpeller}: every conversion must be the one of the {@link LegacyNumberToWords}.
+ */
+public class FrenchNumberSpellerTest {
+
+    private static final NumberSpeller SPELLER = FrenchNumberSpeller.INSTANCE;
+
+    @Test
+    public void spell_matchesLegacyUpToTwoMillions() {
+        for (long number = 0; number <= 2000000; number++) {
+            assertEquals(LegacyNumberToWords.convert(number), SPELLER.spell(number));
+        }
+    }
+
+    @Test
+    public void spell_matchesLegacyOnLargeNumbers() {
+        long[] bounds = {999999999L, 1000000000L, 1000000001L, 1001001001L, 2000000000L,
+                21071081091L, 100100100100L, 999000000000L, NumberSpeller.MAX_NUMBER};
+        for (long number : bounds) {
+            assertEquals(LegacyNumberToWords.convert(number), SPELLER.spell(number));
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            long number = (random.nextLong() >>> 1) % (NumberSpeller.MAX_NUMBER + 1);
+            assertEquals(LegacyNumberToWords.convert(number), SPELLER.spell(number));
+        }
+    }
+
+    @Test
+    public void appendTo_writesAfterContent() {
+        StringBuilder builder = new StringBuilder("Il y a ");
+
+        SPELLER.appendTo(builder, 2001).append(" jours");
+
+        assertEquals("Il y a deux mille un jours", builder.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spell_rejectsNumberOutOfRange() {
+        SPELLER.spell(NumberSpeller.MAX_NUMBER + 1);
+    }
+
+    @Test
+    public void spell_doesNotAllocateBelowOneThousand() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 20000; i++) {
+            convertAll();
+        }
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100; i++) {
+            convertAll();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertSame(SPELLER.spell(42), SPELLER.spell(42));
+        assertEquals(0, allocated);
+    }
+
+    private int convertAll() {
+        int length = 0;
+        for (int number = 0; number < 1000; number++) {
+            length += SPELLER.spell(number).length();
+        }
+        return length;
+    }
+}
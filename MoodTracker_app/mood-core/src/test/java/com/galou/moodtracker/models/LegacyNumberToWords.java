@@ -3,19 +3,10 @@ package com.galou.moodtracker.models;
 import java.text.DecimalFormat;
 
 /**
- * <b>
- *     Convert a number from number to word in French
- * </b>
- * <p>
- *     Convert the given number into word
- * </p>
- *
- * @author galou
- * @version 1.0
- *
- *
+ * First implementation of {@link FrenchNumberSpeller}, kept as the reference of the conversions
+ * in {@link FrenchNumberSpellerTest} and to compare the performances of both implementations.
  */
-public class NumberToWords {
+class LegacyNumberToWords {
 
     private static final  String[] tensNames = {
             "",
@@ -70,7 +61,7 @@ public class NumberToWords {
     /**
      * Constructor
      */
-    public NumberToWords() {
+    LegacyNumberToWords() {
     }
 
     /**
@@ -80,8 +71,8 @@ public class NumberToWords {
      * @return
      *      a string of the number converted in word
      *
-     * @see NumberToWords#numNames1
-     * @see NumberToWords#tensNames
+     * @see LegacyNumberToWords#numNames1
+     * @see LegacyNumberToWords#tensNames
      */
     private static String convertZeroToHundred(int number) {
 
@@ -153,7 +144,7 @@ public class NumberToWords {
      * @return
      *      a string of the number converted in word
      *
-     * @see NumberToWords#numName2
+     * @see LegacyNumberToWords#numName2
      */
     private static String convertLessThanOneThousand(int number) {
 
@@ -0,0 +1,69 @@
+package com.galou.moodtracker.models;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the {@link MoodBank}: the oldest moods are overwritten when the bank is full,
+ * the counts keep all the moods added.
+ */
+public class MoodBankTest {
+
+    private static final int FIRST_DAY = 17800;
+
+    @Test
+    public void addMood_belowWindow_keepsEachMood() {
+        MoodBank bank = new MoodBank(3);
+
+        bank.addMood(new Mood(MoodLevel.HAPPY, FIRST_DAY, "First"));
+        bank.addMood(new Mood(MoodLevel.SAD, FIRST_DAY + 1, null));
+
+        assertEquals(2, bank.size());
+        assertEquals(new Mood(MoodLevel.HAPPY, FIRST_DAY, "First"), bank.getMood(0));
+        assertEquals(new Mood(MoodLevel.SAD, FIRST_DAY + 1, ""), bank.getMood(1));
+    }
+
+    @Test
+    public void addMood_fullBank_overwritesOldest() {
+        MoodBank bank = new MoodBank(3);
+
+        for (int i = 0; i < 8; i++) {
+            bank.addMood(new Mood(MoodLevel.fromOrdinal(i % MoodLevel.COUNT), FIRST_DAY + i, "Mood " + i));
+        }
+
+        assertEquals(3, bank.size());
+        assertEquals(Arrays.asList(
+                new Mood(MoodLevel.SAD, FIRST_DAY + 5, "Mood 5"),
+                new Mood(MoodLevel.DISAPPOINTED, FIRST_DAY + 6, "Mood 6"),
+                new Mood(MoodLevel.NORMAL, FIRST_DAY + 7, "Mood 7")),
+                bank.getMoodList());
+    }
+
+    @Test
+    public void addMood_fullBank_countsEvictedMoods() {
+        MoodBank bank = new MoodBank(2);
+
+        bank.addMood(new Mood(MoodLevel.SAD, FIRST_DAY, ""));
+        bank.addMood(new Mood(MoodLevel.SAD, FIRST_DAY + 1, ""));
+        bank.addMood(new Mood(MoodLevel.HAPPY, FIRST_DAY + 2, ""));
+
+        assertEquals(2, bank.size());
+        assertEquals(2, bank.getNbSad());
+        assertEquals(1, bank.getNbHappy());
+        assertEquals(2, bank.getNb(MoodLevel.SAD, FIRST_DAY, FIRST_DAY + 2));
+        assertEquals(FIRST_DAY, bank.getFirstDay());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getMood_afterLastMood_throws() {
+        MoodBank bank = new MoodBank(3);
+        for (int i = 0; i < 4; i++) {
+            bank.addMood(new Mood(MoodLevel.NORMAL, FIRST_DAY + i, ""));
+        }
+
+        bank.getMood(3);
+    }
+}
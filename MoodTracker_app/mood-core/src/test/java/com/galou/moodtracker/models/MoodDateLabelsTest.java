@@ -0,0 +1,109 @@
+package com.galou.moodtracker.models;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the {@link MoodDateLabels}: the texts of the dates, and no allocation once they are built.
+ */
+public class MoodDateLabelsTest {
+
+    private static final int TODAY = 17900;
+
+    private MoodDateLabels labels;
+
+    @Before
+    public void setUp() {
+        labels = new MoodDateLabels(FrenchNumberSpeller.INSTANCE, "Il y a plus d'un mois", "Il y a %se semaine", "Il y a %s semaines",
+                "Il y a %s jours", "Hier", "Avant-hier");
+        labels.refreshToday(EpochDay.toMillis(TODAY) + 1);
+    }
+
+    @Test
+    public void getLabel_returnsTextOfNumberOfDays() {
+        assertEquals("Hier", labels.getLabel(TODAY));
+        assertEquals("Hier", labels.getLabel(TODAY - 1));
+        assertEquals("Avant-hier", labels.getLabel(TODAY - 2));
+        assertEquals("Il y a trois jours", labels.getLabel(TODAY - 3));
+        assertEquals("Il y a six jours", labels.getLabel(TODAY - 6));
+        assertEquals("Il y a une semaine", labels.getLabel(TODAY - 7));
+        assertEquals("Il y a une semaine", labels.getLabel(TODAY - 13));
+        assertEquals("Il y a deux semaines", labels.getLabel(TODAY - 14));
+        assertEquals("Il y a quatre semaines", labels.getLabel(TODAY - 30));
+        assertEquals("Il y a plus d'un mois", labels.getLabel(TODAY - 31));
+        assertEquals("Il y a plus d'un mois", labels.getLabel(TODAY - 3650));
+    }
+
+    @Test
+    public void getLabel_spellsNumbersWithSpellerOfTexts() {
+        MoodDateLabels english = new MoodDateLabels(EnglishNumberSpeller.INSTANCE, "More than a month ago",
+                "%s week ago", "%s weeks ago", "%s days ago", "Yesterday", "Two days ago");
+        english.refreshToday(EpochDay.toMillis(TODAY) + 1);
+
+        assertEquals("five days ago", english.getLabel(TODAY - 5));
+        assertEquals("one week ago", english.getLabel(TODAY - 8));
+        assertEquals("three weeks ago", english.getLabel(TODAY - 21));
+    }
+
+    @Test
+    public void getLabel_returnsSameInstanceForSameNumberOfDays() {
+        assertSame(labels.getLabel(TODAY - 3650), labels.getLabel(TODAY - 31));
+        assertSame(labels.getLabel(TODAY - 20), labels.getLabel(TODAY - 14));
+    }
+
+    @Test
+    public void refreshToday_countsFromNewDayAfterMidnight() {
+        long midnight = EpochDay.toMillis(TODAY + 1);
+
+        assertFalse(labels.refreshToday(midnight - 1));
+        assertEquals("Il y a trois jours", labels.getLabel(TODAY - 3));
+
+        assertTrue(labels.refreshToday(midnight));
+        assertEquals("Il y a quatre jours", labels.getLabel(TODAY - 3));
+        assertFalse(labels.refreshToday(midnight + 1000));
+    }
+
+    @Test
+    public void getLabel_doesNotAllocateOnceBuilt() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        // let the JIT compile the bind path
+        for (int i = 0; i < 20000; i++) {
+            bindAll();
+        }
+
+        long baseline = measure(threadBean, threadId, false);
+        long allocated = measure(threadBean, threadId, true);
+
+        assertEquals("bytes allocated by 100 binds of a year of moods", 0, Math.max(0, allocated - baseline));
+    }
+
+    private long measure(com.sun.management.ThreadMXBean threadBean, long threadId, boolean bind) {
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100; i++) {
+            if (bind) {
+                bindAll();
+            }
+        }
+        return threadBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private int bindAll() {
+        int length = 0;
+        for (int day = TODAY - 365; day <= TODAY; day++) {
+            length += labels.getLabel(day).length();
+        }
+        return length;
+    }
+}
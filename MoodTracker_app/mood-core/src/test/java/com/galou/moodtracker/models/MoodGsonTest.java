@@ -0,0 +1,116 @@
+package com.galou.moodtracker.models;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests of the adapters of {@link MoodGson}: a MoodBank saved by the previous versions is read,
+ * then written and read again in the current format.
+ */
+public class MoodGsonTest {
+
+    /**
+     * Drawables of the levels in the build of the previous versions, indexed by the ordinal of the levels
+     */
+    private static final int[] DRAWABLES = {0x7f070070, 0x7f070071, 0x7f070072, 0x7f070073, 0x7f070074};
+
+    /**
+     * MoodBank saved in the SharedPreferences by the previous versions: 8 moods of March 2019,
+     * the date as a Calendar, the level as a drawable and an ID, and the numbers of each level.
+     * The comment is null when the user did not enter one, the ID of the last mood is null to read its drawable.
+     */
+    private static final String LEGACY_BANK = "{\"moodList\":["
+            + legacyMood(0x7f070073, 1, "\"Sunny day\"", 3)
+            + "," + legacyMood(0x7f070072, 2, "null", 2)
+            + "," + legacyMood(0x7f070070, 3, "\"Rain, \\\"again\\\"\"", 0)
+            + "," + legacyMood(0x7f070074, 4, "\"Holidays\"", 4)
+            + "," + legacyMood(0x7f070071, 5, "null", 1)
+            + "," + legacyMood(0x7f070072, 6, "\"\"", 2)
+            + "," + legacyMood(0x7f070073, 7, "\"Caf\\u00e9 with Léa\"", 3)
+            + "," + legacyMood(0x7f070074, 8, "null", "null")
+            + "],\"nbSuperHappy\":2,\"nbHappy\":2,\"nbNormal\":2,\"nbDisappointed\":1,\"nbSad\":1}";
+
+    private static final MoodLevel[] LEVELS = {MoodLevel.HAPPY, MoodLevel.NORMAL, MoodLevel.SAD,
+            MoodLevel.SUPER_HAPPY, MoodLevel.DISAPPOINTED, MoodLevel.NORMAL, MoodLevel.HAPPY, MoodLevel.SUPER_HAPPY};
+
+    private static final String[] COMMENTS = {"Sunny day", "", "Rain, \"again\"", "Holidays", "", "",
+            "Café with Léa", ""};
+
+    private Gson gson;
+
+    @Before
+    public void setUp() {
+        gson = MoodGson.get();
+        MoodLevel.setLegacyDrawables(DRAWABLES);
+    }
+
+    @Test
+    public void read_legacyBank_keepsEachMood() {
+        MoodBank bank = gson.fromJson(LEGACY_BANK, MoodBank.class);
+
+        int firstDay = EpochDay.fromCalendar(date(1));
+        assertEquals(LEVELS.length, bank.size());
+        for (int i = 0; i < LEVELS.length; i++) {
+            assertEquals(new Mood(LEVELS[i], firstDay + i, COMMENTS[i]), bank.getMood(i));
+        }
+        assertEquals(2, bank.getNb(MoodLevel.SUPER_HAPPY, firstDay, firstDay + 7));
+        assertEquals(1, bank.getNb(MoodLevel.SAD, firstDay, firstDay + 7));
+    }
+
+    @Test
+    public void writeThenRead_givesSameMoods() {
+        MoodBank bank = gson.fromJson(LEGACY_BANK, MoodBank.class);
+
+        String json = gson.toJson(bank);
+        MoodBank read = gson.fromJson(json, MoodBank.class);
+
+        assertFalse(json.contains("moodList"));
+        assertFalse(json.contains("null"));
+        assertEquals(bank.getMoodList(), read.getMoodList());
+    }
+
+    @Test
+    public void read_nullMood() {
+        assertNull(gson.fromJson("null", Mood.class));
+        assertEquals(0, gson.fromJson("{\"moods\":[null]}", MoodBank.class).size());
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_unknownOrdinal_throws() {
+        gson.fromJson("{\"level\":" + MoodLevel.COUNT + ",\"epochDay\":17800}", Mood.class);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_negativeOrdinal_throws() {
+        gson.fromJson("{\"level\":-1,\"epochDay\":17800}", Mood.class);
+    }
+
+    /**
+     * Return a Mood in JSON as Gson wrote it in the previous versions
+     */
+    private static String legacyMood(int drawable, int dayOfMonth, String comment, Object id) {
+        return "{\"mood\":" + drawable + ",\"color\":-3342439,"
+                + "\"date\":{\"year\":2019,\"month\":2,\"dayOfMonth\":" + dayOfMonth
+                + ",\"hourOfDay\":21,\"minute\":12,\"second\":5},"
+                + "\"comment\":" + comment + ",\"id\":" + id + "}";
+    }
+
+    /**
+     * Return a date of March 2019 at midnight
+     */
+    private static Calendar date(int dayOfMonth) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2019, Calendar.MARCH, dayOfMonth);
+        return calendar;
+    }
+}
@@ -0,0 +1,55 @@
+package com.galou.moodtracker.models;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the {@link MoodPageKeys}: each page read gives the key of the next one.
+ */
+public class MoodPageKeysTest {
+
+    private static final List<Mood> PAGE = Arrays.asList(
+            new Mood(MoodLevel.HAPPY, 17800, ""),
+            new Mood(MoodLevel.SAD, 17803, ""),
+            new Mood(MoodLevel.NORMAL, 17810, ""));
+
+    @Test
+    public void firstPage_hasNoDayBefore() {
+        MoodPageKeys keys = new MoodPageKeys();
+
+        assertEquals(0, keys.getKeyPosition(0));
+        assertEquals(MoodPageKeys.NO_DAY, keys.getDayBefore(0));
+        // nothing read yet, the moods before the page are skipped from the first one
+        assertEquals(0, keys.getKeyPosition(30));
+    }
+
+    @Test
+    public void addPage_givesKeyOfNextPage() {
+        MoodPageKeys keys = new MoodPageKeys();
+
+        keys.addPage(30, PAGE);
+
+        assertEquals(33, keys.getKeyPosition(33));
+        assertEquals(17810, keys.getDayBefore(33));
+        assertEquals(30, keys.getKeyPosition(31));
+        assertEquals(17799, keys.getDayBefore(30));
+        assertEquals(33, keys.getKeyPosition(60));
+    }
+
+    @Test
+    public void clear_forgetsPagesRead() {
+        MoodPageKeys keys = new MoodPageKeys();
+        keys.addPage(0, PAGE);
+        keys.addPage(3, Collections.<Mood>emptyList());
+
+        keys.clear();
+
+        assertEquals(0, keys.getKeyPosition(3));
+        assertEquals(MoodPageKeys.NO_DAY, keys.getDayBefore(0));
+    }
+}
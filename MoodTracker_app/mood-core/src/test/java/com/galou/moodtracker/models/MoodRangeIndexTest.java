@@ -0,0 +1,107 @@
+package com.galou.moodtracker.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the {@link MoodRangeIndex}: the counts stay the same as a count of the moods one by one
+ * when the index grows before its first day and after its last day.
+ */
+public class MoodRangeIndexTest {
+
+    private static final int FIRST_DAY = 17800;
+
+    @Test
+    public void add_beforeFirstDay_growsBelow() {
+        MoodRangeIndex index = new MoodRangeIndex();
+        List<Mood> moods = new ArrayList<>();
+
+        add(index, moods, MoodLevel.HAPPY, FIRST_DAY);
+        add(index, moods, MoodLevel.SAD, FIRST_DAY + 10);
+        add(index, moods, MoodLevel.HAPPY, FIRST_DAY - 1);
+        add(index, moods, MoodLevel.HAPPY, FIRST_DAY - 500);
+
+        assertEquals(FIRST_DAY - 500, index.getFirstDay());
+        assertCounts(index, moods, FIRST_DAY - 600, FIRST_DAY + 100);
+    }
+
+    @Test
+    public void add_afterLastDay_growsAbove() {
+        MoodRangeIndex index = new MoodRangeIndex();
+        List<Mood> moods = new ArrayList<>();
+
+        add(index, moods, MoodLevel.NORMAL, FIRST_DAY);
+        add(index, moods, MoodLevel.NORMAL, FIRST_DAY + 63);
+        add(index, moods, MoodLevel.SUPER_HAPPY, FIRST_DAY + 64);
+        add(index, moods, MoodLevel.DISAPPOINTED, FIRST_DAY + 1000);
+        add(index, moods, MoodLevel.NORMAL, FIRST_DAY + 1);
+
+        assertEquals(FIRST_DAY, index.getFirstDay());
+        assertCounts(index, moods, FIRST_DAY - 10, FIRST_DAY + 1100);
+    }
+
+    @Test
+    public void add_daysOutOfOrder_countsAsBruteForce() {
+        Random random = new Random(42);
+        MoodRangeIndex index = new MoodRangeIndex();
+        List<Mood> moods = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            int day = FIRST_DAY + random.nextInt(2000) - 1000;
+            add(index, moods, MoodLevel.fromOrdinal(random.nextInt(MoodLevel.COUNT)), day);
+            if (i % 50 == 0) {
+                assertCounts(index, moods, FIRST_DAY - 1100, FIRST_DAY + 1100);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            int fromDay = FIRST_DAY + random.nextInt(2400) - 1200;
+            int toDay = fromDay + random.nextInt(800);
+            for (MoodLevel level : MoodLevel.values()) {
+                assertEquals(bruteForce(moods, level, fromDay, toDay), index.count(level, fromDay, toDay));
+            }
+        }
+    }
+
+    @Test
+    public void count_emptyIndexOrReversedRange_isZero() {
+        MoodRangeIndex index = new MoodRangeIndex();
+        assertEquals(0, index.count(MoodLevel.HAPPY, Integer.MIN_VALUE, Integer.MAX_VALUE));
+
+        index.add(MoodLevel.HAPPY, FIRST_DAY);
+        assertEquals(0, index.count(MoodLevel.HAPPY, FIRST_DAY + 1, FIRST_DAY - 1));
+        assertEquals(1, index.count(MoodLevel.HAPPY, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    private static void add(MoodRangeIndex index, List<Mood> moods, MoodLevel level, int epochDay) {
+        index.add(level, epochDay);
+        moods.add(new Mood(level, epochDay, ""));
+    }
+
+    /**
+     * Check the count of each level on each range of days starting at the first day of the window,
+     * and from each day of the window to its last day
+     */
+    private static void assertCounts(MoodRangeIndex index, List<Mood> moods, int firstDay, int lastDay) {
+        for (MoodLevel level : MoodLevel.values()) {
+            for (int day = firstDay; day <= lastDay; day++) {
+                assertEquals(bruteForce(moods, level, firstDay, day), index.count(level, firstDay, day));
+                assertEquals(bruteForce(moods, level, day, lastDay), index.count(level, day, lastDay));
+            }
+        }
+    }
+
+    private static int bruteForce(List<Mood> moods, MoodLevel level, int fromDay, int toDay) {
+        int count = 0;
+        for (Mood mood : moods) {
+            if (mood.getLevel() == level && mood.getEpochDay() >= fromDay && mood.getEpochDay() <= toDay) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
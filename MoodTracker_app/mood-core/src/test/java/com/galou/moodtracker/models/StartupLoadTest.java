@@ -0,0 +1,196 @@
+package com.galou.moodtracker.models;
+
+import com.galou.moodtracker.trace.StartupTrace;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Startup of the models with a history of 10 000 moods, read through a {@link MoodRepository}
+ * in the order of the {@code MoodLoader}: temporary mood of yesterday added, MoodBank loaded and counted,
+ * first page of the history read by key.
+ * The budget is asserted on a repository kept in memory, not on SQLite: it covers the models
+ * and the order of the phases, a regression there makes the startup slower whatever the database.
+ * The SQL of the SQLite repository is measured by {@code MoodRepositoryBenchmark}.
+ */
+public class StartupLoadTest {
+
+    private static final int HISTORY_SIZE = 10000;
+    private static final int PAGE_SIZE = 30;
+    /**
+     * Time allowed to the whole startup, large enough for a slow build machine
+     */
+    private static final long BUDGET_MS = 1000;
+
+    private MemoryMoodRepository repository;
+    private int today;
+
+    @Before
+    public void setUp() {
+        today = EpochDay.today();
+        repository = new MemoryMoodRepository();
+        repository.insertAll(createHistory(today));
+        repository.writePending(new Mood(MoodLevel.HAPPY, today - 1, "Yesterday"));
+    }
+
+    @Test
+    public void loadRepository_readsEachPhaseOnceWithinBudget() {
+        StartupTrace trace = new StartupTrace();
+
+        StartupTrace.Section section = trace.begin("loadTodayMood");
+        Mood pending;
+        try {
+            pending = repository.readPending();
+            if (pending != null && pending.getEpochDay() != today) {
+                repository.commitPending(pending);
+                pending = null;
+            }
+        } finally {
+            section.end();
+        }
+        section = trace.begin("loadMoodBank");
+        MoodBank bank = new MoodBank(HISTORY_SIZE + 1);
+        try {
+            repository.loadInto(bank);
+        } finally {
+            section.end();
+        }
+        section = trace.begin("count");
+        int count = 0;
+        try {
+            for (MoodLevel level : MoodLevel.values()) {
+                count += bank.getNb(level, MoodWindow.ALL_TIME);
+            }
+        } finally {
+            section.end();
+        }
+        section = trace.begin("loadPage");
+        List<Mood> page;
+        try {
+            page = repository.loadPage(0, PAGE_SIZE);
+        } finally {
+            section.end();
+        }
+        trace.finish();
+
+        assertNull(pending);
+        assertNull(repository.readPending());
+        assertEquals(HISTORY_SIZE + 1, count);
+        assertEquals(PAGE_SIZE, page.size());
+        assertEquals(today - HISTORY_SIZE - 1, page.get(0).getEpochDay());
+        for (String phase : new String[]{"loadTodayMood", "loadMoodBank", "count", "loadPage"}) {
+            assertEquals(phase, 1, trace.getPhaseCount(phase));
+        }
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(trace.getTotalNanos());
+        assertTrue("Startup took " + totalMillis + " ms, budget " + BUDGET_MS + " ms\n" + trace.dump(),
+                totalMillis < BUDGET_MS);
+    }
+
+    /**
+     * Create a history of moods on consecutive days until the day before yesterday, one out of three with a comment
+     */
+    private static List<Mood> createHistory(int today) {
+        Random random = new Random(42);
+        int firstDay = today - HISTORY_SIZE - 1;
+        List<Mood> moods = new ArrayList<>(HISTORY_SIZE);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            String comment = i % 3 == 0 ? "Comment of the mood " + i : null;
+            moods.add(new Mood(MoodLevel.fromOrdinal(random.nextInt(MoodLevel.COUNT)), firstDay + i, comment));
+        }
+        return moods;
+    }
+
+    /**
+     * Repository kept in memory, one mood per day, the pages read by key as the SQLite repository
+     * <p>
+     *     A stand-in for the budget of the models only, its reads cost nothing like those of SQLite
+     * </p>
+     */
+    private static class MemoryMoodRepository implements MoodRepository {
+
+        private final TreeMap<Integer, Mood> moods = new TreeMap<>();
+        private final MoodPageKeys pageKeys = new MoodPageKeys();
+        private Mood pending;
+
+        @Override
+        public int getCount() {
+            return moods.size();
+        }
+
+        @Override
+        public List<Mood> loadPage(int start, int count) {
+            int keyPosition = pageKeys.getKeyPosition(start);
+            List<Mood> page = new ArrayList<>(count);
+            int skipped = 0;
+            for (Mood mood : moods.tailMap(pageKeys.getDayBefore(keyPosition), false).values()) {
+                if (page.size() == count) {
+                    break;
+                }
+                if (skipped < start - keyPosition) {
+                    skipped++;
+                } else {
+                    page.add(mood);
+                }
+            }
+            pageKeys.addPage(start, page);
+            return page;
+        }
+
+        @Override
+        public int count(MoodLevel level, int fromDay, int toDay) {
+            int count = 0;
+            for (Mood mood : moods.subMap(fromDay, true, toDay, true).values()) {
+                if (mood.getLevel() == level) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void loadInto(MoodBank bank) {
+            for (Mood mood : moods.values()) {
+                bank.addMood(mood);
+            }
+        }
+
+        @Override
+        public Mood readPending() {
+            return pending;
+        }
+
+        @Override
+        public void insert(Mood mood) {
+            moods.put(mood.getEpochDay(), mood);
+            pageKeys.clear();
+        }
+
+        @Override
+        public void insertAll(List<Mood> moods) {
+            for (Mood mood : moods) {
+                insert(mood);
+            }
+        }
+
+        @Override
+        public void writePending(Mood mood) {
+            pending = mood;
+        }
+
+        @Override
+        public void commitPending(Mood mood) {
+            insert(mood);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.galou.moodtracker.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of the {@link WindowedMoodCounts}: a window of n days ending today counts the moods
+ * from today - n + 1 to today.
+ */
+public class WindowedMoodCountsTest {
+
+    private static final int TODAY = 17800;
+
+    @Test
+    public void advanceTo_removesMoodsOnTheBoundary() {
+        WindowedMoodCounts counts = new WindowedMoodCounts(MoodWindow.LAST_7_DAYS);
+
+        counts.add(MoodLevel.SAD, TODAY - 7);
+        counts.add(MoodLevel.HAPPY, TODAY - 6);
+        counts.add(MoodLevel.HAPPY, TODAY);
+        counts.advanceTo(TODAY);
+
+        assertEquals(0, counts.get(MoodLevel.SAD));
+        assertEquals(2, counts.get(MoodLevel.HAPPY));
+
+        counts.advanceTo(TODAY + 1);
+        assertEquals(1, counts.get(MoodLevel.HAPPY));
+        assertEquals(1, counts.getTotal());
+
+        counts.advanceTo(TODAY + 7);
+        assertEquals(0, counts.getTotal());
+    }
+
+    @Test
+    public void add_removesMoodsOutOfTheWindowOfTheNewMood() {
+        WindowedMoodCounts counts = new WindowedMoodCounts(MoodWindow.LAST_30_DAYS);
+
+        counts.add(MoodLevel.NORMAL, TODAY - 40);
+        counts.add(MoodLevel.NORMAL, TODAY - 29);
+        counts.add(MoodLevel.SAD, TODAY);
+
+        assertEquals(1, counts.get(MoodLevel.NORMAL));
+        assertEquals(2, counts.getTotal());
+    }
+
+    @Test
+    public void add_manyMoods_growsAndWrapsTheQueue() {
+        WindowedMoodCounts counts = new WindowedMoodCounts(MoodWindow.LAST_30_DAYS);
+
+        for (int day = 0; day < 100; day++) {
+            counts.add(MoodLevel.fromOrdinal(day % MoodLevel.COUNT), TODAY + day);
+            assertEquals(Math.min(day + 1, 30), counts.getTotal());
+        }
+        // days 70 to 99 are left: six moods of each level
+        for (MoodLevel level : MoodLevel.values()) {
+            assertEquals(6, counts.get(level));
+        }
+    }
+
+    @Test
+    public void allTime_neverRemovesMoods() {
+        WindowedMoodCounts counts = new WindowedMoodCounts(MoodWindow.ALL_TIME);
+
+        counts.add(MoodLevel.HAPPY, TODAY - 10000);
+        counts.add(MoodLevel.HAPPY, TODAY);
+        counts.advanceTo(TODAY + 10000);
+
+        assertEquals(2, counts.get(MoodLevel.HAPPY));
+    }
+}
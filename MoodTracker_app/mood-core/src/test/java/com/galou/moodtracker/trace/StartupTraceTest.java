@@ -0,0 +1,104 @@
+package com.galou.moodtracker.trace;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the {@link StartupTrace}: phases added by name, marks, and nothing recorded once finished.
+ */
+public class StartupTraceTest {
+
+    @Test
+    public void sections_areAddedByName() throws InterruptedException {
+        StartupTrace trace = new StartupTrace();
+
+        StartupTrace.Section first = trace.begin("load");
+        Thread.sleep(2);
+        first.end();
+        StartupTrace.Section second = trace.begin("load");
+        Thread.sleep(2);
+        second.end();
+
+        assertEquals(2, trace.getPhaseCount("load"));
+        assertTrue(trace.getPhaseNanos("load") >= 4000000L);
+        assertTrue(trace.getTotalNanos() >= trace.getPhaseNanos("load"));
+        assertEquals(0, trace.getPhaseCount("missing"));
+    }
+
+    @Test
+    public void mark_keepsFirstTime() {
+        StartupTrace trace = new StartupTrace();
+
+        trace.mark("loaded");
+        long first = trace.getMarkNanos("loaded");
+        trace.mark("loaded");
+
+        assertTrue(first >= 0);
+        assertEquals(first, trace.getMarkNanos("loaded"));
+        assertEquals(-1, trace.getMarkNanos("missing"));
+    }
+
+    @Test
+    public void finish_stopsRecording() {
+        StartupTrace trace = new StartupTrace();
+        StartupTrace.Section started = trace.begin("started");
+
+        assertTrue(trace.finish());
+        assertFalse(trace.finish());
+        long total = trace.getTotalNanos();
+        started.end();
+        trace.begin("late").end();
+        trace.mark("late");
+
+        assertEquals(1, trace.getPhaseCount("started"));
+        assertEquals(0, trace.getPhaseCount("late"));
+        assertEquals(-1, trace.getMarkNanos("late"));
+        assertEquals(total, trace.getTotalNanos());
+    }
+
+    @Test
+    public void listener_toldOfEachSection() {
+        final List<String> events = new ArrayList<>();
+        StartupTrace trace = new StartupTrace();
+        trace.setListener(new StartupTrace.Listener() {
+            @Override
+            public void onSectionBegin(String name) {
+                events.add("begin " + name);
+            }
+
+            @Override
+            public void onSectionEnd(String name) {
+                events.add("end " + name);
+            }
+        });
+
+        StartupTrace.Section outer = trace.begin("outer");
+        trace.begin("inner").end();
+        outer.end();
+
+        assertEquals(Arrays.asList("begin outer", "begin inner", "end inner", "end outer"), events);
+    }
+
+    @Test
+    public void dump_writesPhasesAndMarks() {
+        StartupTrace trace = new StartupTrace();
+        trace.begin("MainActivity.bind").end();
+        trace.mark("MainActivity.todayMoodLoaded");
+        trace.finish();
+
+        String dump = trace.dump();
+
+        assertTrue(dump, dump.startsWith("Startup: "));
+        assertTrue(dump, dump.contains("MainActivity.bind"));
+        assertTrue(dump, dump.contains("x1"));
+        assertTrue(dump, dump.contains("MainActivity.todayMoodLoaded"));
+        assertFalse(dump, dump.contains("not finished"));
+    }
+}